@@ -0,0 +1,122 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Shared animation asset: a sequence of frames and how many ticks each one is
+ * shown for. Clips are loaded once and shared by every entity that plays them;
+ * per-entity playback state lives in an Animator.
+ */
+public class AnimationClip {
+    // Every clip loaded so far, by name and by id. Guarded by the class lock,
+    // since the level worker creates clips while the game thread looks them up
+    private static final HashMap<String, AnimationClip> clipsByName = new HashMap<>();
+    private static final ArrayList<AnimationClip> clipsById = new ArrayList<>();
+
+    private final int id;
+    private final String name;
+    private final int[] frameDurations; // Ticks each frame is shown for
+    private final SpriteAtlas.Region[][] frames; // [frame][flip], null for timing-only clips
+    private final boolean randomOrder; // Jump to a random frame instead of the next one
+
+    private AnimationClip(String name, int[] frameDurations, SpriteAtlas.Region[][] frames, boolean randomOrder) {
+        this.id = clipsById.size();
+        this.name = name;
+        this.frameDurations = frameDurations;
+        this.frames = frames;
+        this.randomOrder = randomOrder;
+
+        clipsByName.put(name, this);
+        clipsById.add(this);
+    }
+
+    /**
+     * Get a clip of numbered sprite frames baked in every flip orientation at a
+     * draw size (see SpriteAtlas.getFlipVariants), loading it the first time
+     *
+     * @param pathFormat    resource path with a %d for the frame number
+     * @param ticksPerFrame how many updates each frame is shown for
+     */
+    public static synchronized AnimationClip getFlipVariantClip(String name, String pathFormat, int frameCount, int width,
+            int height, int ticksPerFrame) {
+        AnimationClip clip = clipsByName.get(name);
+        if (clip != null) {
+            return clip;
+        }
+
+        SpriteAtlas atlas = SpriteAtlas.getInstance();
+        SpriteAtlas.Region[][] frames = new SpriteAtlas.Region[frameCount][];
+        for (int i = 0; i < frameCount; i++) {
+            String path = String.format(pathFormat, i);
+            frames[i] = atlas.getFlipVariants(path, width, height);
+            if (frames[i] == null) {
+                System.out.println("Could not load animation frame " + path);
+            }
+        }
+
+        return new AnimationClip(name, uniformDurations(frameCount, ticksPerFrame), frames, false);
+    }
+
+    /**
+     * Get a clip that only provides frame timing, for entities that bake their
+     * own frame images, creating it the first time
+     *
+     * @param randomOrder jump to a random frame each time instead of the next one
+     */
+    public static synchronized AnimationClip getTimingClip(String name, int frameCount, int ticksPerFrame, boolean randomOrder) {
+        AnimationClip clip = clipsByName.get(name);
+        if (clip != null) {
+            return clip;
+        }
+        return new AnimationClip(name, uniformDurations(frameCount, ticksPerFrame), null, randomOrder);
+    }
+
+    /**
+     * Same duration for every frame
+     */
+    private static int[] uniformDurations(int frameCount, int ticksPerFrame) {
+        int[] durations = new int[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            durations[i] = ticksPerFrame;
+        }
+        return durations;
+    }
+
+    /**
+     * Look up a clip by the id from getId, e.g. when restoring a snapshot
+     *
+     * @return the clip, or null if no clip has that id
+     */
+    public static synchronized AnimationClip getById(int id) {
+        return id >= 0 && id < clipsById.size() ? clipsById.get(id) : null;
+    }
+
+    /**
+     * Get a frame in every flip orientation, indexed by SpriteAtlas flip flags
+     *
+     * @return the variants, or null for timing-only clips and frames that
+     *         failed to load
+     */
+    public SpriteAtlas.Region[] getFrameVariants(int frame) {
+        return frames != null ? frames[frame] : null;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getFrameCount() {
+        return frameDurations.length;
+    }
+
+    public int getFrameDuration(int frame) {
+        return frameDurations[frame];
+    }
+
+    public boolean isRandomOrder() {
+        return randomOrder;
+    }
+}
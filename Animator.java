@@ -0,0 +1,111 @@
+/**
+ * Per-entity playback state for an AnimationClip: which clip, which frame and
+ * how long the frame has been shown. Small and self-contained so it can be
+ * copied into snapshots.
+ */
+public class Animator {
+    private AnimationClip clip;
+    private int frame = 0;
+    private int time = 0; // Ticks the current frame has been shown for
+
+    /**
+     * Switch to a clip, starting from its first frame. Playing the clip that is
+     * already playing does nothing.
+     */
+    public void play(AnimationClip clip) {
+        if (clip != this.clip) {
+            this.clip = clip;
+            restart();
+        }
+    }
+
+    /**
+     * Go back to the first frame of the current clip
+     */
+    public void restart() {
+        frame = 0;
+        time = 0;
+    }
+
+    /**
+     * Count one tick on the current frame without changing frames
+     */
+    public void tick() {
+        time++;
+    }
+
+    /**
+     * Move to the next frame if the current one has been shown long enough
+     *
+     * @return true if the frame changed
+     */
+    public boolean advance() {
+        if (clip == null || time < clip.getFrameDuration(frame)) {
+            return false;
+        }
+
+        time = 0;
+        if (clip.isRandomOrder()) {
+            frame = (int) (Math.random() * clip.getFrameCount());
+        } else {
+            frame = (frame + 1) % clip.getFrameCount();
+        }
+        return true;
+    }
+
+    /**
+     * Tick and advance in one step
+     *
+     * @return true if the frame changed
+     */
+    public boolean update() {
+        tick();
+        return advance();
+    }
+
+    /**
+     * The current frame in every flip orientation
+     *
+     * @return the variants, or null if there is nothing to show
+     */
+    public SpriteAtlas.Region[] getFrameVariants() {
+        return clip != null ? clip.getFrameVariants(frame) : null;
+    }
+
+    /**
+     * Copy another animator's state
+     */
+    public void copyFrom(Animator other) {
+        this.clip = other.clip;
+        this.frame = other.frame;
+        this.time = other.time;
+    }
+
+    /**
+     * Restore state saved from getClipId, getFrame and getTime
+     */
+    public void restore(int clipId, int frame, int time) {
+        this.clip = AnimationClip.getById(clipId);
+        this.frame = clip != null ? Math.floorMod(frame, clip.getFrameCount()) : 0;
+        this.time = time;
+    }
+
+    public AnimationClip getClip() {
+        return clip;
+    }
+
+    /**
+     * Id of the current clip, or -1 if none is playing
+     */
+    public int getClipId() {
+        return clip != null ? clip.getId() : -1;
+    }
+
+    public int getFrame() {
+        return frame;
+    }
+
+    public int getTime() {
+        return time;
+    }
+}
@@ -0,0 +1,311 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Every game asset packed into one indexed file. The build writes the bundle
+ * with main(); the game memory-maps it and serves each asset as a slice of the
+ * mapping, so startup reads one file instead of opening dozens.
+ *
+ * Layout: magic, entry count, then per entry its name, offset and length,
+ * followed by the asset bytes back to back.
+ *
+ * The game ignores the bundle when any loose asset file has been modified
+ * since it was packed, so edits show up without rebuilding it, and when
+ * started with -DassetBundle=false.
+ */
+public class AssetBundle {
+    public static final String DEFAULT_PATH = "assets.pak";
+    private static final int MAGIC = 0x50414B31; // "PAK1"
+
+    // Directories packed by the build. Resource directories are named the way
+    // getResourceAsStream sees them ("/Sprites/..."), file directories the way
+    // the game opens them from the working directory ("Static/...").
+    private static final String[] RESOURCE_DIRS = { "Sprites", "textures" };
+    private static final String[] FILE_DIRS = { "Static" };
+
+    private static AssetBundle defaultBundle;
+    private static boolean defaultOpened = false;
+
+    private final MappedByteBuffer data;
+    private final HashMap<String, int[]> index = new HashMap<>(); // Name to {offset, length}
+
+    private AssetBundle(MappedByteBuffer data) throws IOException {
+        this.data = data;
+        readIndex();
+    }
+
+    /**
+     * Get the bundle next to the game, opening it the first time
+     *
+     * @return the bundle, or null if there isn't one, it is out of date or
+     *         bundles are turned off (assets are then read from their own
+     *         files)
+     */
+    public static synchronized AssetBundle getDefault() {
+        if (!defaultOpened) {
+            defaultOpened = true;
+            Path path = Paths.get(DEFAULT_PATH);
+            if (!GameSettings.getInstance().isAssetBundle()) {
+                System.out.println("Asset bundle turned off, reading loose asset files");
+            } else if (Files.exists(path)) {
+                try {
+                    Path changed = findChangedSource(path, Paths.get("."));
+                    if (changed != null) {
+                        System.out.println("Ignoring asset bundle " + path + ", " + changed
+                                + " changed since it was packed");
+                    } else {
+                        defaultBundle = open(path);
+                        System.out.println("Opened asset bundle with " + defaultBundle.index.size() + " assets");
+                    }
+                } catch (IOException e) {
+                    System.out.println("Could not open asset bundle " + path + ": " + e.getMessage());
+                }
+            }
+        }
+        return defaultBundle;
+    }
+
+    /**
+     * Find a loose asset file modified after a bundle was written
+     *
+     * @param source directory holding the asset directories the bundle was
+     *               packed from
+     * @return the first such file, or null if the bundle is up to date
+     */
+    private static Path findChangedSource(Path bundle, Path source) throws IOException {
+        long packed = Files.getLastModifiedTime(bundle).toMillis();
+        for (String[] dirs : new String[][] { RESOURCE_DIRS, FILE_DIRS }) {
+            for (String dir : dirs) {
+                Path root = source.resolve(dir);
+                if (!Files.isDirectory(root)) {
+                    continue;
+                }
+                try (Stream<Path> files = Files.walk(root)) {
+                    for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                        if (Files.getLastModifiedTime(file).toMillis() > packed) {
+                            return file;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Memory-map a bundle file. The mapping stays valid after the channel is
+     * closed.
+     */
+    public static AssetBundle open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new AssetBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Read the entry table at the start of the mapping
+     */
+    private void readIndex() throws IOException {
+        ByteBuffer header = data.duplicate();
+        if (header.remaining() < 8 || header.getInt() != MAGIC) {
+            throw new IOException("not an asset bundle");
+        }
+
+        int count = header.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[header.getShort() & 0xFFFF];
+            header.get(name);
+            int offset = header.getInt();
+            int length = header.getInt();
+            if (offset < 0 || length < 0 || (long) offset + length > data.limit()) {
+                throw new IOException("corrupt asset bundle entry " + i);
+            }
+            index.put(new String(name, StandardCharsets.UTF_8), new int[] { offset, length });
+        }
+    }
+
+    /**
+     * Check whether the bundle holds an asset
+     */
+    public boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    /**
+     * Get an asset's bytes as a read-only view of the mapping
+     *
+     * @return the slice, or null if the bundle doesn't hold the asset
+     */
+    public ByteBuffer get(String name) {
+        int[] entry = index.get(name);
+        return entry != null ? data.slice(entry[0], entry[1]).asReadOnlyBuffer() : null;
+    }
+
+    /**
+     * Copy an asset out of the mapping
+     *
+     * @return the bytes, or null if the bundle doesn't hold the asset
+     */
+    public byte[] getBytes(String name) {
+        ByteBuffer slice = get(name);
+        if (slice == null) {
+            return null;
+        }
+        byte[] bytes = new byte[slice.remaining()];
+        slice.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Open an asset as a stream reading straight from the mapping
+     *
+     * @return the stream, or null if the bundle doesn't hold the asset
+     */
+    public InputStream openStream(String name) {
+        ByteBuffer slice = get(name);
+        return slice != null ? new BufferInputStream(slice) : null;
+    }
+
+    public Set<String> getNames() {
+        return index.keySet();
+    }
+
+    /**
+     * Stream over a buffer's remaining bytes
+     */
+    private static class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Write a bundle holding the given assets
+     *
+     * @param entries asset name to the file holding its bytes
+     */
+    public static void write(Path out, Map<String, Path> entries) throws IOException {
+        TreeMap<String, byte[]> names = new TreeMap<>();
+        TreeMap<String, Long> sizes = new TreeMap<>();
+        for (Map.Entry<String, Path> entry : entries.entrySet()) {
+            names.put(entry.getKey(), entry.getKey().getBytes(StandardCharsets.UTF_8));
+            sizes.put(entry.getKey(), Files.size(entry.getValue()));
+        }
+
+        // Header size first, so the data offsets are known while writing it
+        long offset = 8;
+        for (byte[] name : names.values()) {
+            offset += 2 + name.length + 8;
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MAGIC);
+        header.writeInt(names.size());
+        for (Map.Entry<String, byte[]> name : names.entrySet()) {
+            long size = sizes.get(name.getKey());
+            if (offset + size > Integer.MAX_VALUE) {
+                throw new IOException("asset bundle would exceed 2GB");
+            }
+            header.writeShort(name.getValue().length);
+            header.write(name.getValue());
+            header.writeInt((int) offset);
+            header.writeInt((int) size);
+            offset += size;
+        }
+
+        try (OutputStream stream = Files.newOutputStream(out)) {
+            headerBytes.writeTo(stream);
+            for (String name : names.keySet()) {
+                Files.copy(entries.get(name), stream);
+            }
+        }
+    }
+
+    /**
+     * Collect every file under a directory, named by a prefix plus its path
+     * relative to the directory
+     */
+    private static void addDirectory(Map<String, Path> entries, Path root, String prefix) throws IOException {
+        if (!Files.isDirectory(root)) {
+            System.out.println("Skipping missing asset directory " + root);
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String relative = root.relativize(file).toString().replace('\\', '/');
+                entries.put(prefix + relative, file);
+            }
+        }
+    }
+
+    /**
+     * Build step: pack the asset directories under a source directory into a
+     * bundle
+     *
+     * Usage: java AssetBundle [output.pak] [source directory]
+     */
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get(args.length > 0 ? args[0] : DEFAULT_PATH);
+        Path source = Paths.get(args.length > 1 ? args[1] : ".");
+
+        Map<String, Path> entries = new HashMap<>();
+        for (String dir : RESOURCE_DIRS) {
+            addDirectory(entries, source.resolve(dir), "/" + dir + "/");
+        }
+        for (String dir : FILE_DIRS) {
+            addDirectory(entries, source.resolve(dir), dir + "/");
+        }
+
+        write(out, entries);
+        System.out.println("Packed " + entries.size() + " assets into " + out + " (" + Files.size(out) + " bytes)");
+    }
+}
@@ -0,0 +1,296 @@
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+
+/**
+ * Loads sprites, textures and sound files on a thread pool. Every asset is
+ * read once into a future that the rest of the game joins when it needs it,
+ * so startup can preload the whole manifest in parallel behind a loading
+ * screen instead of decoding files on the first frames of gameplay.
+ */
+public class AssetLoader {
+    private static AssetLoader instance;
+
+    private final ExecutorService pool;
+
+    // Loads started so far, by resource path (images) or file path (raw files)
+    private final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<byte[]>> files = new ConcurrentHashMap<>();
+
+    // Progress counters for the loading screen
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    // Set by release: later loads are handed to the caller without being kept,
+    // so textures the registry drops and rebuilds are freed with them
+    private volatile boolean released;
+
+    /**
+     * Private constructor for singleton pattern
+     */
+    private AssetLoader() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "asset-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true); // Never keep the game alive on its own
+            return thread;
+        });
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized AssetLoader getInstance() {
+        if (instance == null) {
+            instance = new AssetLoader();
+        }
+        return instance;
+    }
+
+    /**
+     * Start loading every asset the game needs at startup
+     *
+     * @return a future that completes once every asset has loaded or failed
+     */
+    public CompletableFuture<Void> preloadAll() {
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        for (String path : SpriteAtlas.getManifest()) {
+            loads.add(loadImageAsync(path));
+        }
+        for (String path : BackgroundRenderer.getTexturePaths()) {
+            loads.add(loadImageAsync(path));
+        }
+        loads.add(loadImageAsync(WaterBoundary.TEXTURE_PATH));
+        for (String path : AudioManager.getAudioFiles()) {
+            loads.add(loadFileAsync(path));
+        }
+
+        // Failed loads still count as finished, callers report them when they
+        // ask for the asset
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).handle((ignored, e) -> null);
+    }
+
+    /**
+     * Start decoding an image from a resource path, or get the load already in
+     * progress. After release, every call starts a fresh load.
+     */
+    public CompletableFuture<BufferedImage> loadImageAsync(String path) {
+        if (released) {
+            return CompletableFuture.supplyAsync(() -> readImage(path), pool);
+        }
+        return images.computeIfAbsent(path, key -> track(CompletableFuture.supplyAsync(() -> readImage(key), pool)));
+    }
+
+    /**
+     * Start reading a file from disk into memory, or get the read already in
+     * progress. After release, every call starts a fresh read.
+     */
+    public CompletableFuture<byte[]> loadFileAsync(String path) {
+        if (released) {
+            return CompletableFuture.supplyAsync(() -> readFile(path), pool);
+        }
+        return files.computeIfAbsent(path, key -> track(CompletableFuture.supplyAsync(() -> readFile(key), pool)));
+    }
+
+    /**
+     * Count a load towards the progress bar
+     */
+    private <T> CompletableFuture<T> track(CompletableFuture<T> load) {
+        started.incrementAndGet();
+        load.whenComplete((result, e) -> finished.incrementAndGet());
+        return load;
+    }
+
+    /**
+     * Decode an image on a loader thread, from the asset bundle when there is
+     * one and it holds the image
+     */
+    private static BufferedImage readImage(String path) {
+        if (!StartupTrace.isEnabled()) {
+            return decodeImage(path);
+        }
+        return StartupTrace.time("load " + path, () -> decodeImage(path));
+    }
+
+    /**
+     * Decode an image from the texture cache, the asset bundle or the
+     * classpath
+     */
+    private static BufferedImage decodeImage(String path) {
+        if (GameSettings.getInstance().isTextureCache()) {
+            return readImageCached(path);
+        }
+
+        AssetBundle bundle = AssetBundle.getDefault();
+        InputStream stream = bundle != null && bundle.contains(path) ? bundle.openStream(path)
+                : AssetLoader.class.getResourceAsStream(path);
+        if (stream == null) {
+            throw new IllegalArgumentException("resource not found: " + path);
+        }
+        try (stream) {
+            BufferedImage image = ImageIO.read(stream);
+            if (image == null) {
+                throw new IllegalArgumentException("unsupported image format: " + path);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get an image from the texture cache, decoding it and refreshing the
+     * cache entry when the source file has changed
+     */
+    private static BufferedImage readImageCached(String path) {
+        byte[] source = readImageSource(path);
+        long hash = TextureCache.hash(source);
+
+        TextureCache cache = TextureCache.getInstance();
+        BufferedImage image = cache.load(path, hash);
+        if (image != null) {
+            return image;
+        }
+
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(source));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (image == null) {
+            throw new IllegalArgumentException("unsupported image format: " + path);
+        }
+        image = TextureCache.toPremultiplied(image);
+        cache.store(path, hash, image);
+        return image;
+    }
+
+    /**
+     * Read an image file's undecoded bytes, from the asset bundle when there is
+     * one and it holds the image
+     */
+    private static byte[] readImageSource(String path) {
+        AssetBundle bundle = AssetBundle.getDefault();
+        if (bundle != null && bundle.contains(path)) {
+            return bundle.getBytes(path);
+        }
+        InputStream stream = AssetLoader.class.getResourceAsStream(path);
+        if (stream == null) {
+            throw new IllegalArgumentException("resource not found: " + path);
+        }
+        try (stream) {
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read a whole file on a loader thread, from the asset bundle when there is
+     * one and it holds the file
+     */
+    private static byte[] readFile(String path) {
+        if (!StartupTrace.isEnabled()) {
+            return readFileBytes(path);
+        }
+        return StartupTrace.time("load " + path, () -> readFileBytes(path));
+    }
+
+    /**
+     * Read a whole file, from the asset bundle when it holds the file
+     */
+    private static byte[] readFileBytes(String path) {
+        AssetBundle bundle = AssetBundle.getDefault();
+        if (bundle != null && bundle.contains(path)) {
+            return bundle.getBytes(path);
+        }
+        try {
+            return Files.readAllBytes(Paths.get(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get an image, waiting for it if it is still loading (or loading it now if
+     * it was never requested)
+     *
+     * @throws IOException              if the image couldn't be read
+     * @throws IllegalArgumentException if the resource is missing or not an
+     *                                  image
+     */
+    public BufferedImage getImage(String path) throws IOException {
+        return join(loadImageAsync(path));
+    }
+
+    /**
+     * Get a file's contents, waiting for them if they are still loading (or
+     * reading the file now if it was never requested)
+     *
+     * @throws IOException if the file couldn't be read
+     */
+    public byte[] getFile(String path) throws IOException {
+        return join(loadFileAsync(path));
+    }
+
+    /**
+     * Check whether a file can be loaded, from the asset bundle or disk
+     */
+    public boolean hasFile(String path) {
+        AssetBundle bundle = AssetBundle.getDefault();
+        return (bundle != null && bundle.contains(path)) || Files.exists(Paths.get(path));
+    }
+
+    /**
+     * Wait for a load and rethrow its failure as the original exception
+     */
+    private static <T> T join(CompletableFuture<T> load) throws IOException {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fraction of started loads that have finished, from 0 to 1
+     */
+    public double getProgress() {
+        int total = started.get();
+        return total == 0 ? 1.0 : (double) finished.get() / total;
+    }
+
+    /**
+     * Drop every cached asset once the game has built what it needs from them.
+     * Later requests load again and aren't cached, so whoever asked owns the
+     * only reference.
+     */
+    public void release() {
+        released = true;
+        images.clear();
+        files.clear();
+        started.set(0);
+        finished.set(0);
+    }
+}
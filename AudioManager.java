@@ -1,7 +1,9 @@
 import javax.sound.sampled.*;
-import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,6 +21,14 @@ public class AudioManager {
     
     // Audio file paths
     private static final String AUDIO_PATH = "Static/";
+    private static final String[][] SOUND_EFFECTS = {
+        { "jump", "Jump15.wav" },
+        { "explosion", "Explosion 3.wav" },
+        { "death", "Boom2.wav" },
+        { "dash", "dash.wav" },
+        { "swap", "swap.wav" }
+    };
+    private static final String MUSIC_FILE = "level.wav";
     
     private AudioManager() {
         soundEffects = new HashMap<>();
@@ -27,7 +37,7 @@ public class AudioManager {
     
     public static AudioManager getInstance() {
         if (instance == null) {
-            instance = new AudioManager();
+            instance = StartupTrace.time("AudioManager init", AudioManager::new);
         }
         return instance;
     }
@@ -35,13 +45,11 @@ public class AudioManager {
      * Load all audio files at startup
      */
     private void loadAudioFiles() {        try {              // Load sound effects
-            loadSoundEffect("jump", AUDIO_PATH + "Jump15.wav");
-            loadSoundEffect("explosion", AUDIO_PATH + "Explosion 3.wav");
-            loadSoundEffect("death", AUDIO_PATH + "Boom2.wav");
-            loadSoundEffect("dash", AUDIO_PATH + "dash.wav");
-            loadSoundEffect("swap", AUDIO_PATH + "swap.wav");
+            for (String[] effect : SOUND_EFFECTS) {
+                loadSoundEffect(effect[0], AUDIO_PATH + effect[1]);
+            }
             
-            loadBackgroundMusic(AUDIO_PATH + "level.wav");
+            loadBackgroundMusic(AUDIO_PATH + MUSIC_FILE);
             
             System.out.println("Audio files loaded");
         } catch (Exception e) {
@@ -51,18 +59,40 @@ public class AudioManager {
         }
     }
     
+    /**
+     * Every audio file loaded at startup, for preloading
+     */
+    public static List<String> getAudioFiles() {
+        List<String> paths = new ArrayList<>();
+        for (String[] effect : SOUND_EFFECTS) {
+            paths.add(AUDIO_PATH + effect[1]);
+        }
+        if (AssetLoader.getInstance().hasFile(AUDIO_PATH + MUSIC_FILE)) {
+            paths.add(AUDIO_PATH + MUSIC_FILE);
+        }
+        return paths;
+    }
+    
+    /**
+     * Open an audio file from the bytes the asset loader read, so preloaded
+     * files aren't read from disk again
+     */
+    private AudioInputStream openAudio(String filePath) throws UnsupportedAudioFileException, IOException {
+        byte[] data = AssetLoader.getInstance().getFile(filePath);
+        return AudioSystem.getAudioInputStream(new ByteArrayInputStream(data));
+    }
+    
     /**
      * Load a sound effect
      */
     private void loadSoundEffect(String name, String filePath) {
         try {
-            File audioFile = new File(filePath);
-            if (!audioFile.exists()) {
+            if (!AssetLoader.getInstance().hasFile(filePath)) {
                 System.err.println("Audio file not found: " + filePath);
                 return;
             }
             
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(audioFile);
+            AudioInputStream audioStream = openAudio(filePath);
             Clip clip = AudioSystem.getClip();
             clip.open(audioStream);
             
@@ -81,13 +111,12 @@ public class AudioManager {
      */
     private void loadBackgroundMusic(String filePath) {
         try {
-            File audioFile = new File(filePath);
-            if (!audioFile.exists()) {
+            if (!AssetLoader.getInstance().hasFile(filePath)) {
                 System.err.println("Background music file not found: " + filePath);
                 return;
             }
             
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(audioFile);
+            AudioInputStream audioStream = openAudio(filePath);
             backgroundMusic = AudioSystem.getClip();
             backgroundMusic.open(audioStream);
             
@@ -1,7 +1,9 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Background renderer that handles fixed background textures and parallax cave
@@ -9,26 +11,60 @@ import java.io.IOException;
  */
 public class BackgroundRenderer {
     private static BackgroundRenderer instance;
-    private BufferedImage backgroundTexture;
+
+    private static final String DEFAULT_TEXTURE = "/textures/Blue water.png";
+    private static final String[] CAVE_LAYER_PATHS = {
+            "/textures/Cave layers/Cave layer 1.png",
+            "/textures/Cave layers/Cave layer 2.png",
+            "/textures/Cave layers/Cave layer 3.png" };
     private String texturePath;
     private boolean isEnabled = true;
     private Color backgroundTint = null;
 
-    // Cave layer textures for parallax scrolling
-    private BufferedImage caveLayer1;
-    private BufferedImage caveLayer2;
-    private BufferedImage caveLayer3;
+    // Source textures, only read when the composites below are built, so the
+    // texture registry may drop them and load them again later
+    private TextureRegistry.Texture backgroundTexture;
+    private final TextureRegistry.Texture caveLayer1;
+    private final TextureRegistry.Texture caveLayer2;
+    private final TextureRegistry.Texture caveLayer3;
     private boolean caveLayersEnabled = true;
 
+    // Pre-composited images so each frame is one blit per layer. Drawn every
+    // frame, so they stay referenced in the registry.
+    private final TextureRegistry.Texture baseImage; // Tiled background texture with tint applied, screen-sized
+    private final TextureRegistry.Texture caveStrip1; // Cave layers tiled into strips that wrap seamlessly
+    private final TextureRegistry.Texture caveStrip2;
+    private final TextureRegistry.Texture caveStrip3;
+    private int stripScreenWidth = -1; // Screen width the strips were built for
+
     /**
      * Private constructor for singleton pattern
      */
     private BackgroundRenderer() {
+        TextureRegistry registry = TextureRegistry.getInstance();
+        GameSettings settings = GameSettings.getInstance();
+        baseImage = registry.create("background base",
+                () -> createBaseImage(settings.getBaseWidth(), settings.getBaseHeight()));
+        baseImage.acquire();
+
         // Set default background texture (we'll use Blue water.png as a background)
-        setBackgroundTexture("/textures/Blue water.png");
+        setBackgroundTexture(DEFAULT_TEXTURE);
 
         // Load cave layer textures for parallax scrolling
-        loadCaveLayers();
+        caveLayer1 = registry.create("cave layer 1", () -> loadTexture(CAVE_LAYER_PATHS[0], "cave layer 1"));
+        caveLayer2 = registry.create("cave layer 2", () -> loadTexture(CAVE_LAYER_PATHS[1], "cave layer 2"));
+        caveLayer3 = registry.create("cave layer 3", () -> loadTexture(CAVE_LAYER_PATHS[2], "cave layer 3"));
+        caveLayer1.get();
+        caveLayer2.get();
+        caveLayer3.get();
+
+        // Layer 1 alpha is baked into its strip
+        caveStrip1 = registry.create("cave strip 1", () -> createParallaxStrip(caveLayer1, 0.7f));
+        caveStrip2 = registry.create("cave strip 2", () -> createParallaxStrip(caveLayer2, 1.0f));
+        caveStrip3 = registry.create("cave strip 3", () -> createParallaxStrip(caveLayer3, 1.0f));
+        caveStrip1.acquire();
+        caveStrip2.acquire();
+        caveStrip3.acquire();
     }
 
     /**
@@ -36,60 +72,51 @@ public class BackgroundRenderer {
      */
     public static BackgroundRenderer getInstance() {
         if (instance == null) {
-            instance = new BackgroundRenderer();
+            instance = StartupTrace.time("BackgroundRenderer init", BackgroundRenderer::new);
         }
         return instance;
     }
 
     /**
-     * Set the background texture from a resource path
+     * Every texture loaded at startup, for preloading
      */
-    public void setBackgroundTexture(String texturePath) {
-        this.texturePath = texturePath;
-        loadBackgroundTexture();
+    public static List<String> getTexturePaths() {
+        List<String> paths = new ArrayList<>();
+        paths.add(DEFAULT_TEXTURE);
+        paths.addAll(Arrays.asList(CAVE_LAYER_PATHS));
+        return paths;
     }
 
     /**
-     * Load the background texture from the resource path
+     * Set the background texture from a resource path
      */
-    private void loadBackgroundTexture() {
-        if (texturePath != null && !texturePath.isEmpty()) {
-            try {
-                this.backgroundTexture = ImageIO.read(getClass().getResourceAsStream(texturePath));
-                System.out.println("loaded background texture: " + texturePath);
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("could not load background texture: " + texturePath);
-                this.backgroundTexture = null;
-            }
+    public void setBackgroundTexture(String texturePath) {
+        this.texturePath = texturePath;
+        if (backgroundTexture != null) {
+            backgroundTexture.invalidate();
         }
+        backgroundTexture = TextureRegistry.getInstance().create("background texture",
+                () -> loadTexture(texturePath, "background texture: " + texturePath));
+        backgroundTexture.get();
+        baseImage.invalidate(); // Re-composite with the new texture
     }
 
     /**
-     * Load the cave layer textures for parallax scrolling
+     * Load a texture from a resource path
+     *
+     * @return the texture, or null if it couldn't be loaded
      */
-    private void loadCaveLayers() {
-        try {
-            caveLayer1 = ImageIO.read(getClass().getResourceAsStream("/textures/Cave layers/Cave layer 1.png"));
-            System.out.println("loaded cave layer 1");
-        } catch (IOException | IllegalArgumentException e) {
-            System.out.println("could not load cave layer 1");
-            caveLayer1 = null;
+    private BufferedImage loadTexture(String path, String label) {
+        if (path == null || path.isEmpty()) {
+            return null;
         }
-
         try {
-            caveLayer2 = ImageIO.read(getClass().getResourceAsStream("/textures/Cave layers/Cave layer 2.png"));
-            System.out.println("loaded cave layer 2");
+            BufferedImage image = AssetLoader.getInstance().getImage(path);
+            System.out.println("loaded " + label);
+            return image;
         } catch (IOException | IllegalArgumentException e) {
-            System.out.println("could not load cave layer 2");
-            caveLayer2 = null;
-        }
-
-        try {
-            caveLayer3 = ImageIO.read(getClass().getResourceAsStream("/textures/Cave layers/Cave layer 3.png"));
-            System.out.println("loaded cave layer 3");
-        } catch (IOException | IllegalArgumentException e) {
-            System.out.println("could not load cave layer 3");
-            caveLayer3 = null;
+            System.out.println("could not load " + label);
+            return null;
         }
     }
 
@@ -98,6 +125,7 @@ public class BackgroundRenderer {
      */
     public void setBackgroundTint(Color tint) {
         this.backgroundTint = tint;
+        baseImage.invalidate(); // Re-composite with the new tint
     }
 
     /**
@@ -115,10 +143,10 @@ public class BackgroundRenderer {
     }
 
     /**
-     * Draw the background texture in screen coordinates (not affected by camera)
-     * This should be called before applying camera transforms
+     * Submit the background texture in screen coordinates (not affected by
+     * camera), on the queue's background layer
      */
-    public void drawBackground(Graphics2D g) {
+    public void submitBackground(RenderQueue queue) {
         if (!isEnabled) {
             return;
         }
@@ -128,49 +156,65 @@ public class BackgroundRenderer {
         int screenHeight = settings.getBaseHeight();
         int halfHeight = screenHeight / 2; // Only draw on top half
 
+        // Draw the pre-composited background texture and tint
+        BufferedImage base = baseImage.get();
+        if (base.getWidth() != screenWidth || base.getHeight() != screenHeight) {
+            baseImage.invalidate();
+            base = baseImage.get();
+        }
+        queue.drawImage(RenderQueue.LAYER_BACKGROUND, 0, base, 0, 0);
+
+        // Draw cave layers with parallax scrolling on top of background
+        if (caveLayersEnabled) {
+            submitCaveLayers(queue, screenWidth, halfHeight);
+        }
+    }
+
+    /**
+     * Composite the tiled background texture and its tint into one screen-sized
+     * image, so it can be drawn with a single blit
+     */
+    private BufferedImage createBaseImage(int screenWidth, int screenHeight) {
+        int halfHeight = screenHeight / 2; // Only tint the top half
+        BufferedImage backgroundTexture = this.backgroundTexture.get();
+
+        // Opaque when the texture covers the whole screen, otherwise keep transparency
+        BufferedImage image = new BufferedImage(screenWidth, screenHeight,
+                backgroundTexture != null ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+
         if (backgroundTexture != null) {
-            // Calculate how many times to tile the texture to fill the top half of screen
+            // Calculate how many times to tile the texture to fill the screen
             int textureWidth = backgroundTexture.getWidth();
             int textureHeight = backgroundTexture.getHeight();
 
-            int tilesX = (screenWidth / textureWidth) + 2; // +2 for extra coverage
-            int tilesY = (halfHeight / textureHeight) + 2; // +2 for extra coverage
-
-            // Draw tiled background texture only on top half
-            for (int x = 0; x < tilesX; x++) {
-                for (int y = 0; y < tilesY; y++) {
-                    int drawX = x * textureWidth;
-                    int drawY = y * textureHeight;
-                    // Only draw if the tile is within the top half
+            for (int drawX = 0; drawX < screenWidth; drawX += textureWidth) {
+                for (int drawY = 0; drawY < screenHeight; drawY += textureHeight) {
                     g.drawImage(backgroundTexture, drawX, drawY, null);
                 }
             }
 
             // Apply tint if specified (only to top half)
             if (backgroundTint != null) {
-                Composite originalComposite = g.getComposite();
                 g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
                 g.setColor(backgroundTint);
                 g.fillRect(0, 0, screenWidth, halfHeight);
-                g.setComposite(originalComposite);
             }
         } else {
             // Fallback: draw solid color background (only top half)
-            g.setColor(settings.getBackgroundColor());
+            g.setColor(GameSettings.getInstance().getBackgroundColor());
             g.fillRect(0, 0, screenWidth, halfHeight);
         }
 
-        // Draw cave layers with parallax scrolling on top of background
-        if (caveLayersEnabled) {
-            drawCaveLayers(g, screenWidth, halfHeight);
-        }
+        g.dispose();
+        return image;
     }
 
     /**
-     * Draw cave layers with parallax scrolling effect
+     * Submit cave layers with parallax scrolling effect
      * Layer 1 = slowest (farthest back), Layer 3 = fastest (closest)
      */
-    private void drawCaveLayers(Graphics2D g, int screenWidth, int halfHeight) {
+    private void submitCaveLayers(RenderQueue queue, int screenWidth, int halfHeight) {
         Camera camera = Camera.getInstance();
         double cameraX = camera.getCameraX();
 
@@ -179,61 +223,69 @@ public class BackgroundRenderer {
         double layer2Speed = 0.775;
         double layer3Speed = 0.8;
 
-        // TODO: make cave layers better, cave 1 and cave 3 kinda overlap a lot and it looks goofy
-                if (caveLayer3 != null) {
-                    drawParallaxLayer(g, caveLayer3, cameraX, layer3Speed, screenWidth, halfHeight, 1.0f);
-                }
-                
-                if (caveLayer2 != null) {
-            drawParallaxLayer(g, caveLayer2, cameraX, layer2Speed, screenWidth, halfHeight, 1.0f);
+        // Rebuild the wrapping strips if the screen size changed (they are
+        // built on first use)
+        if (stripScreenWidth != screenWidth) {
+            stripScreenWidth = screenWidth;
+            caveStrip1.invalidate();
+            caveStrip2.invalidate();
+            caveStrip3.invalidate();
         }
-            if (caveLayer1 != null) {
-                drawParallaxLayer(g, caveLayer1, cameraX, layer1Speed, screenWidth, halfHeight, 0.7f);
-            }
+
+        // TODO: make cave layers better, cave 1 and cave 3 kinda overlap a lot and it looks goofy
+        submitParallaxStrip(queue, 1, caveStrip3.get(), cameraX, layer3Speed, screenWidth);
+        submitParallaxStrip(queue, 2, caveStrip2.get(), cameraX, layer2Speed, screenWidth);
+        submitParallaxStrip(queue, 3, caveStrip1.get(), cameraX, layer1Speed, screenWidth);
     }
 
     /**
-     * Draw a single parallax layer with the specified speed
+     * Tile a cave layer into a strip one layer-width wider than the screen, so
+     * any scroll offset can be drawn as a single sub-image. Layer alpha is baked
+     * into the strip's pixels.
+     *
+     * @return the strip, or null if the layer couldn't be loaded
      */
-    private void drawParallaxLayer(Graphics2D g, BufferedImage layer, double cameraX, double speed, int screenWidth,
-            int halfHeight, float alpha) {
-        if (layer == null)
-            return;
-
+    private BufferedImage createParallaxStrip(TextureRegistry.Texture layerTexture, float alpha) {
+        BufferedImage layer = layerTexture.get();
+        if (layer == null) {
+            return null;
+        }
+        int screenWidth = stripScreenWidth;
         int layerWidth = layer.getWidth();
         int layerHeight = layer.getHeight();
+        int stripWidth = layerWidth + screenWidth;
 
-        // Calculate parallax offset
-        double parallaxOffset = cameraX * speed;
+        BufferedImage strip = new BufferedImage(stripWidth, layerHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = strip.createGraphics();
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+        for (int drawX = 0; drawX < stripWidth; drawX += layerWidth) {
+            g.drawImage(layer, drawX, 0, null);
+        }
+        g.dispose();
 
-        // Calculate how many times we need to tile horizontally to cover screen +
-        // parallax movement
-        int tilesX = (screenWidth / layerWidth) + 3; // +3 for extra coverage with parallax
-        int tilesY = (halfHeight / layerHeight) + 2; // +2 for vertical coverage
+        return strip;
+    }
 
-        // Calculate starting position to account for parallax offset
-        int startX = (int) (-parallaxOffset % layerWidth) - layerWidth;
+    /**
+     * Submit a single parallax layer with the specified speed from its strip
+     */
+    private void submitParallaxStrip(RenderQueue queue, int z, BufferedImage strip, double cameraX, double speed,
+            int screenWidth) {
+        if (strip == null)
+            return;
 
-        // Apply alpha transparency
-        Composite originalComposite = g.getComposite();
-        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+        int layerWidth = strip.getWidth() - screenWidth; // Strips are one layer-width wider than the screen
 
-        // Draw tiled layer only in the top half
-        for (int x = 0; x < tilesX; x++) {
-            for (int y = 0; y < tilesY; y++) {
-                int drawX = startX + (x * layerWidth);
-                int drawY = y * layerHeight;
+        // Calculate parallax offset (same tile alignment as the old per-tile loop)
+        double parallaxOffset = cameraX * speed;
+        int startX = (int) (-parallaxOffset % layerWidth) - layerWidth;
+        int sourceX = Math.floorMod(-startX, layerWidth);
 
-                // Only draw if the tile overlaps with the visible area
-                if (drawX + layerWidth >= 0 && drawX < screenWidth && drawY < halfHeight) {
-                    g.drawImage(layer, drawX, drawY, null);
-                }
-            }
-        }
+        queue.drawImageRegion(RenderQueue.LAYER_BACKGROUND, z, strip, 0, 0, screenWidth, strip.getHeight(),
+                sourceX, 0, sourceX + screenWidth, strip.getHeight(), null);
+    }
 
-        // Restore original composite
-        g.setComposite(originalComposite);
-    }// Getters
+    // Getters
 
     public boolean isEnabled() {
         return isEnabled;
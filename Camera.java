@@ -20,7 +20,11 @@ public class Camera {
 
     // Screen dimensions for camera bounds calculation
     private static final double SCREEN_WIDTH = 1920;
-    private static final double SCREEN_HEIGHT = 1080; // Screen shake effect variables
+    private static final double SCREEN_HEIGHT = 1080;
+
+    // Extra padding around the screen used when culling draw calls, so sprites
+    // that hang over their hitbox don't pop in at the edges
+    private static final double CULL_MARGIN = 64; // Screen shake effect variables
     private double shakeX = 0;
     private double shakeY = 0;
     private double shakeIntensity = 0;
@@ -48,7 +52,7 @@ public class Camera {
      */
     public static Camera getInstance() {
         if (instance == null) {
-            instance = new Camera();
+            instance = StartupTrace.time("Camera init", Camera::new);
         }
         return instance;
     }
@@ -251,6 +255,46 @@ public class Camera {
         return currentShakeType;
     }
 
+    /**
+     * Left edge of the visible world area (camera position plus shake, minus the
+     * cull margin)
+     */
+    public double getVisibleLeft() {
+        return cameraX + shakeX - CULL_MARGIN;
+    }
+
+    /**
+     * Right edge of the visible world area
+     */
+    public double getVisibleRight() {
+        return cameraX + shakeX + SCREEN_WIDTH + CULL_MARGIN;
+    }
+
+    /**
+     * Top edge of the visible world area
+     */
+    public double getVisibleTop() {
+        return cameraY + shakeY - CULL_MARGIN;
+    }
+
+    /**
+     * Bottom edge of the visible world area
+     */
+    public double getVisibleBottom() {
+        return cameraY + shakeY + SCREEN_HEIGHT + CULL_MARGIN;
+    }
+
+    /**
+     * Check if a world-space rectangle (positioned by top-left corner) overlaps
+     * the visible area, used to skip draw calls for off-screen objects
+     */
+    public boolean isVisible(double left, double top, double width, double height) {
+        return left + width > getVisibleLeft() &&
+                left < getVisibleRight() &&
+                top + height > getVisibleTop() &&
+                top < getVisibleBottom();
+    }
+
     // Getters for camera position
     public double getCameraX() {
         return cameraX;
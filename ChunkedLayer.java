@@ -0,0 +1,208 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pre-rendered world layer split into fixed-size chunks. Levels render every
+ * chunk up front with prerender; after that a chunk is only re-rendered when it
+ * is dirty or was dropped and comes on screen, and chunks with nothing in them
+ * keep no image. Chunk images are held through the texture registry, so
+ * off-screen chunks can be dropped under memory pressure.
+ */
+public class ChunkedLayer {
+    public static final int CHUNK_SIZE = 512; // Chunk edge length in pixels
+
+    /**
+     * Paints the static content of a layer in world coordinates
+     */
+    public interface ChunkPainter {
+        /**
+         * Paint everything that overlaps the given world-space bounds. The graphics
+         * context is already translated and clipped to the chunk.
+         *
+         * @return true if anything was drawn, false if the chunk is empty
+         */
+        boolean paint(Graphics2D g, Rectangle bounds);
+    }
+
+    private final String name;
+    private final int originX; // World position of the top-left corner of chunk (0, 0)
+    private final int originY;
+    private final int columns;
+    private final int rows;
+    private final ChunkPainter painter;
+
+    private final TextureRegistry.Texture[][] chunks; // Created when the level pins and pre-renders the layer
+
+    /**
+     * Create a chunked layer covering the given world-space rectangle
+     */
+    public ChunkedLayer(String name, int originX, int originY, int width, int height, ChunkPainter painter) {
+        this.name = name;
+        this.originX = originX;
+        this.originY = originY;
+        this.columns = Math.max(1, (width + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        this.rows = Math.max(1, (height + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        this.painter = painter;
+        this.chunks = new TextureRegistry.Texture[rows][columns];
+    }
+
+    /**
+     * Mark every chunk for re-rendering
+     */
+    public void markAllDirty() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                markChunkDirty(row, col);
+            }
+        }
+    }
+
+    /**
+     * Mark the chunks overlapping a world-space rectangle for re-rendering
+     */
+    public void markDirty(double left, double top, double width, double height) {
+        int firstCol = Math.max(0, (int) Math.floor((left - originX) / CHUNK_SIZE));
+        int lastCol = Math.min(columns - 1, (int) Math.floor((left + width - originX) / CHUNK_SIZE));
+        int firstRow = Math.max(0, (int) Math.floor((top - originY) / CHUNK_SIZE));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((top + height - originY) / CHUNK_SIZE));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                markChunkDirty(row, col);
+            }
+        }
+    }
+
+    /**
+     * Drop a chunk's image so it is re-rendered the next time it is on screen
+     */
+    private void markChunkDirty(int row, int col) {
+        if (chunks[row][col] != null) {
+            chunks[row][col].invalidate();
+        }
+    }
+
+    /**
+     * Record the chunks inside the camera's visible area as image commands,
+     * rendering any that are dirty first
+     */
+    public void submit(RenderQueue queue, int layer, Camera camera) {
+        int firstCol = Math.max(0, (int) Math.floor((camera.getVisibleLeft() - originX) / CHUNK_SIZE));
+        int lastCol = Math.min(columns - 1, (int) Math.floor((camera.getVisibleRight() - originX) / CHUNK_SIZE));
+        int firstRow = Math.max(0, (int) Math.floor((camera.getVisibleTop() - originY) / CHUNK_SIZE));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((camera.getVisibleBottom() - originY) / CHUNK_SIZE));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                // Renders the chunk if it is dirty or was dropped
+                BufferedImage chunk = getChunk(row, col).get();
+                if (chunk != null) {
+                    queue.drawImage(layer, 0, chunk, originX + col * CHUNK_SIZE, originY + row * CHUNK_SIZE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Render every chunk that isn't already. Levels call this when they are
+     * built, off the game thread for a prefetched level, so afterwards only
+     * dirtied or dropped chunks render on demand.
+     */
+    public void prerender() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                getChunk(row, col).get();
+            }
+        }
+    }
+
+    /**
+     * Pin every chunk so the texture budget can't drop it, e.g. to keep a
+     * prerendered layer whole until it is shown
+     */
+    public void acquireAll() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                getChunk(row, col).acquire();
+            }
+        }
+    }
+
+    /**
+     * Unpin the chunks pinned by acquireAll
+     */
+    public void releaseAll() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                if (chunks[row][col] != null) {
+                    chunks[row][col].release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get a chunk's texture, creating it the first time
+     */
+    private TextureRegistry.Texture getChunk(int row, int col) {
+        if (chunks[row][col] == null) {
+            chunks[row][col] = TextureRegistry.getInstance().create(name + " chunk " + row + "," + col,
+                    () -> renderChunk(row, col));
+        }
+        return chunks[row][col];
+    }
+
+    /**
+     * Re-render a single chunk from the painter
+     *
+     * @return the chunk image, or null if the chunk is empty
+     */
+    private BufferedImage renderChunk(int row, int col) {
+        if (!StartupTrace.isEnabled()) {
+            return paintChunk(row, col);
+        }
+        return StartupTrace.time("render " + name + " chunk " + row + "," + col, () -> paintChunk(row, col));
+    }
+
+    /**
+     * Paint a chunk's image, releasing it if the chunk turns out empty
+     */
+    private BufferedImage paintChunk(int row, int col) {
+        BufferedImage chunk = new BufferedImage(CHUNK_SIZE, CHUNK_SIZE, BufferedImage.TYPE_INT_ARGB);
+
+        Rectangle bounds = new Rectangle(originX + col * CHUNK_SIZE, originY + row * CHUNK_SIZE,
+                CHUNK_SIZE, CHUNK_SIZE);
+
+        Graphics2D g2d = chunk.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+
+        // Paint in world coordinates
+        g2d.translate(-bounds.x, -bounds.y);
+        g2d.setClip(bounds);
+        boolean drewAnything = painter.paint(g2d, bounds);
+        g2d.dispose();
+
+        if (drewAnything) {
+            return chunk;
+        }
+
+        // Nothing here, release the chunk image
+        chunk.flush();
+        return null;
+    }
+
+    /**
+     * Release all chunk images
+     */
+    public void flush() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                if (chunks[row][col] != null) {
+                    chunks[row][col].invalidate();
+                    chunks[row][col] = null;
+                }
+            }
+        }
+    }
+}
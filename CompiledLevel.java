@@ -0,0 +1,398 @@
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * A level with everything the game would otherwise work out while loading it
+ * already resolved: layout blocks as bitsets, the sprite and rotation of every
+ * tile, merged collision rectangles, and the spike and laser placements. The
+ * build writes one file per level with main(); the game reads it in one go and
+ * adds its contents to the level as they are, unless the level text or the
+ * generator rules have changed since it was compiled.
+ *
+ * Layout: magic, tile size, hash of the level text and generator version, then
+ * the layout blocks (rows, columns, bitset words), the placed blocks (block index, offset, one tile byte per set bit),
+ * the collision rectangles, the spikes and the lasers, each section prefixed
+ * by its count.
+ */
+public class CompiledLevel {
+    private static final int MAGIC = 0x4C564C32; // "LVL2"
+
+    // Version of the rules that turn level text into a compiled level: the block
+    // placement in GameEngine.createPlatformLayout and PlatformGenerator's tile
+    // and collision rules. Bump it whenever either changes, so levels compiled
+    // with the old rules are out of date.
+    static final int GENERATOR_VERSION = 1;
+
+    // Hazard flags
+    private static final int HORIZONTAL = 1;
+    private static final int REVERSED = 2;
+    private static final int PERMANENT_DUAL_HEAD = 4;
+
+    // Sprite paths by index, shared by every tile instead of formatted per tile
+    private static final String[] SPRITE_PATHS = new String[10];
+
+    static {
+        for (int i = 0; i < SPRITE_PATHS.length; i++) {
+            SPRITE_PATHS[i] = PlatformGenerator.getSpritePath(i);
+        }
+    }
+
+    /**
+     * A layout block placed in the level, with its tiles resolved
+     */
+    private static class Placement {
+        final int layout;
+        final double offsetX, offsetY;
+        final byte[] tiles; // Sprite index << 2 | rotation / 90, per set bit in row order
+
+        Placement(int layout, double offsetX, double offsetY, byte[] tiles) {
+            this.layout = layout;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.tiles = tiles;
+        }
+    }
+
+    /**
+     * A spike or laser placement
+     */
+    private static class Hazard {
+        final double x, y, width, height;
+        final int flags;
+
+        Hazard(double x, double y, double width, double height, int flags) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.flags = flags;
+        }
+    }
+
+    private int tileSize = Level.PLATFORM_TILE_SIZE;
+    private long sourceHash; // Hash of the level text and generator version this was compiled from
+    private final ArrayList<int[]> layoutSizes = new ArrayList<>(); // {rows, columns}
+    private final ArrayList<long[]> layoutBits = new ArrayList<>();
+    private final ArrayList<Placement> placements = new ArrayList<>();
+    private final ArrayList<double[]> collisionRects = new ArrayList<>(); // {x, y, width, height}
+    private final ArrayList<Hazard> spikes = new ArrayList<>();
+    private final ArrayList<Hazard> lasers = new ArrayList<>();
+
+    private CompiledLevel() {
+    }
+
+    /**
+     * Path of the compiled file for a level's layout text
+     */
+    public static String getPath(String levelPath) {
+        return levelPath.replaceFirst("\\.txt$", "") + ".bin";
+    }
+
+    /**
+     * Read a compiled level
+     *
+     * @throws IOException if the data isn't a compiled level or is cut short
+     */
+    public static CompiledLevel read(byte[] bytes) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(bytes);
+        CompiledLevel level = new CompiledLevel();
+        try {
+            if (data.getInt() != MAGIC) {
+                throw new IOException("not a compiled level");
+            }
+            level.tileSize = data.getShort();
+            level.sourceHash = data.getLong();
+
+            int layoutCount = data.getInt();
+            for (int i = 0; i < layoutCount; i++) {
+                int rows = data.getShort();
+                int columns = data.getShort();
+                long[] bits = new long[(rows * columns + 63) / 64];
+                data.asLongBuffer().get(bits);
+                data.position(data.position() + bits.length * 8);
+                level.layoutSizes.add(new int[] { rows, columns });
+                level.layoutBits.add(bits);
+            }
+
+            int placementCount = data.getInt();
+            for (int i = 0; i < placementCount; i++) {
+                int layout = data.getShort();
+                double offsetX = data.getDouble();
+                double offsetY = data.getDouble();
+                if (layout < 0 || layout >= layoutCount) {
+                    throw new IOException("placement " + i + " refers to missing layout " + layout);
+                }
+                byte[] tiles = new byte[countTiles(level.layoutBits.get(layout))];
+                data.get(tiles);
+                level.placements.add(new Placement(layout, offsetX, offsetY, tiles));
+            }
+
+            int rectCount = data.getInt();
+            for (int i = 0; i < rectCount; i++) {
+                level.collisionRects.add(new double[] { data.getDouble(), data.getDouble(), data.getDouble(),
+                        data.getDouble() });
+            }
+
+            readHazards(data, level.spikes);
+            readHazards(data, level.lasers);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("compiled level is truncated");
+        }
+        return level;
+    }
+
+    private static void readHazards(ByteBuffer data, ArrayList<Hazard> hazards) {
+        int count = data.getInt();
+        for (int i = 0; i < count; i++) {
+            hazards.add(new Hazard(data.getDouble(), data.getDouble(), data.getDouble(), data.getDouble(),
+                    data.get()));
+        }
+    }
+
+    private static int countTiles(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Add the collision walls and tile sprites to a level
+     */
+    public void addPlatformsTo(Level level) {
+        ArrayList<Wall> walls = new ArrayList<>(collisionRects.size());
+        for (double[] rect : collisionRects) {
+            walls.add(new Wall(rect[0], rect[1], rect[2], rect[3], new Color(0, 0, 0, 0))); // Transparent
+        }
+
+        ArrayList<PlatformGenerator.PlatformSpriteData> sprites = new ArrayList<>();
+        for (Placement placement : placements) {
+            int columns = layoutSizes.get(placement.layout)[1];
+            long[] bits = layoutBits.get(placement.layout);
+            int tile = 0;
+            for (int word = 0; word < bits.length; word++) {
+                // Visit the set bits only, lowest first, which is row order
+                for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                    int index = word * 64 + Long.numberOfTrailingZeros(remaining);
+                    int packed = placement.tiles[tile++];
+                    sprites.add(new PlatformGenerator.PlatformSpriteData(
+                            placement.offsetX + (index % columns) * tileSize,
+                            placement.offsetY + (index / columns) * tileSize,
+                            tileSize, tileSize, SPRITE_PATHS[(packed >> 2) & 0xF], (packed & 3) * 90));
+                }
+            }
+        }
+
+        level.addCompiledPlatforms(walls, sprites);
+    }
+
+    /**
+     * Place the spikes and lasers
+     */
+    public void addHazardsTo(LevelBuilder builder) {
+        for (Hazard spike : spikes) {
+            builder.addSpike(spike.x, spike.y, spike.width, spike.height, (spike.flags & HORIZONTAL) != 0,
+                    (spike.flags & REVERSED) != 0);
+        }
+        for (Hazard laser : lasers) {
+            boolean horizontal = (laser.flags & HORIZONTAL) != 0;
+            boolean reversed = (laser.flags & REVERSED) != 0;
+            if ((laser.flags & PERMANENT_DUAL_HEAD) != 0) {
+                builder.addPermanentDualHeadLaser(laser.x, laser.y, laser.width, laser.height, horizontal, reversed);
+            } else {
+                builder.addLaser(laser.x, laser.y, laser.width, laser.height, horizontal, reversed);
+            }
+        }
+    }
+
+    /**
+     * Records a level's design while it is described, resolving tiles and
+     * collision the way the game would at load time
+     */
+    private static class Recorder implements LevelBuilder {
+        final CompiledLevel level = new CompiledLevel();
+        final IdentityHashMap<TileBitmap, Integer> layoutIndex = new IdentityHashMap<>();
+        final long variantSeed; // The level's seed, as the game sets it (see Level.setVariantSeed)
+
+        Recorder(long variantSeed) {
+            this.variantSeed = variantSeed;
+        }
+
+        @Override
+        public void addPlatforms(TileBitmap layout, double offsetX, double offsetY) {
+            if (layout == null || layout.getRows() == 0 || layout.getColumns() == 0) {
+                System.err.println("Invalid layout provided!");
+                return;
+            }
+            int rows = layout.getRows();
+            int columns = layout.getColumns();
+
+            Integer index = layoutIndex.get(layout);
+            if (index == null) {
+                long[] bits = new long[(rows * columns + 63) / 64];
+                for (int y = 0; y < rows; y++) {
+                    for (int x = layout.nextSet(y, 0); x >= 0; x = layout.nextSet(y, x + 1)) {
+                        int bit = y * columns + x;
+                        bits[bit / 64] |= 1L << (bit % 64);
+                    }
+                }
+                index = level.layoutBits.size();
+                layoutIndex.put(layout, index);
+                level.layoutSizes.add(new int[] { rows, columns });
+                level.layoutBits.add(bits);
+            }
+
+            // Each placement resolves its own tiles, as the game does
+            int[][][] config = PlatformGenerator.generatePlatformConfig(layout,
+                    GameUtils.hash(variantSeed, offsetX, offsetY));
+            byte[] tiles = new byte[countTiles(level.layoutBits.get(index))];
+            int tile = 0;
+            for (int y = 0; y < rows; y++) {
+                for (int x = layout.nextSet(y, 0); x >= 0; x = layout.nextSet(y, x + 1)) {
+                    int spriteIndex = PlatformGenerator.getSpriteIndex(config[y][x][0]);
+                    int rotation = Math.floorMod(config[y][x][1], 360) / 90;
+                    tiles[tile++] = (byte) (spriteIndex << 2 | rotation);
+                }
+            }
+            level.placements.add(new Placement(index, offsetX, offsetY, tiles));
+
+            for (Wall wall : PlatformGenerator.generateCollisionPlatformsWithOffset(layout, level.tileSize,
+                    offsetX, offsetY)) {
+                level.collisionRects.add(new double[] { wall.getX(), wall.getY(), wall.getWidth(),
+                        wall.getHeight() });
+            }
+        }
+
+        @Override
+        public void addSpike(double x, double y, double width, double height, boolean horizontal,
+                boolean reversed) {
+            level.spikes.add(new Hazard(x, y, width, height, flags(horizontal, reversed)));
+        }
+
+        @Override
+        public void addLaser(double headX, double headY, double width, double height, boolean horizontal,
+                boolean reversed) {
+            level.lasers.add(new Hazard(headX, headY, width, height, flags(horizontal, reversed)));
+        }
+
+        @Override
+        public void addPermanentDualHeadLaser(double headX, double headY, double width, double height,
+                boolean horizontal, boolean reversed) {
+            level.lasers.add(new Hazard(headX, headY, width, height,
+                    flags(horizontal, reversed) | PERMANENT_DUAL_HEAD));
+        }
+
+        private static int flags(boolean horizontal, boolean reversed) {
+            return (horizontal ? HORIZONTAL : 0) | (reversed ? REVERSED : 0);
+        }
+    }
+
+    /**
+     * Compile a level from its layout text and design. Tile variants use the
+     * level's ID as the seed, as the game does when it builds from the text.
+     *
+     * @param source the level's layout text
+     */
+    public static CompiledLevel compile(int ID, byte[] source) {
+        Recorder recorder = new Recorder(ID);
+        recorder.level.sourceHash = hashSource(source);
+        GameEngine.createPlatformLayout(ID, GameEngine.createLevelLayouts(ID, source), recorder);
+        return recorder.level;
+    }
+
+    /**
+     * Hash of a level's layout text mixed with GENERATOR_VERSION, recorded when
+     * compiling so the game can tell a compiled level is out of date
+     */
+    public static long hashSource(byte[] source) {
+        return GameUtils.hash(TextureCache.hash(source), GENERATOR_VERSION);
+    }
+
+    /**
+     * Check whether this was compiled from the given layout text with the
+     * current generator rules
+     */
+    public boolean isCompiledFrom(byte[] source) {
+        return sourceHash == hashSource(source);
+    }
+
+    /**
+     * Encode the level in the compiled file layout
+     */
+    public byte[] toBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(tileSize);
+        out.writeLong(sourceHash);
+
+        out.writeInt(layoutBits.size());
+        for (int i = 0; i < layoutBits.size(); i++) {
+            out.writeShort(layoutSizes.get(i)[0]);
+            out.writeShort(layoutSizes.get(i)[1]);
+            for (long word : layoutBits.get(i)) {
+                out.writeLong(word);
+            }
+        }
+
+        out.writeInt(placements.size());
+        for (Placement placement : placements) {
+            out.writeShort(placement.layout);
+            out.writeDouble(placement.offsetX);
+            out.writeDouble(placement.offsetY);
+            out.write(placement.tiles);
+        }
+
+        out.writeInt(collisionRects.size());
+        for (double[] rect : collisionRects) {
+            for (double value : rect) {
+                out.writeDouble(value);
+            }
+        }
+
+        writeHazards(out, spikes);
+        writeHazards(out, lasers);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeHazards(DataOutputStream out, ArrayList<Hazard> hazards) throws IOException {
+        out.writeInt(hazards.size());
+        for (Hazard hazard : hazards) {
+            out.writeDouble(hazard.x);
+            out.writeDouble(hazard.y);
+            out.writeDouble(hazard.width);
+            out.writeDouble(hazard.height);
+            out.writeByte(hazard.flags);
+        }
+    }
+
+    /**
+     * Build step: compile every level into a .bin file beside its layout text,
+     * run before the assets are packed so the bundle picks them up
+     *
+     * Usage: java CompiledLevel
+     */
+    public static void main(String[] args) throws IOException {
+        for (int ID = 1; ID <= GameEngine.getMaxLevelID(); ID++) {
+            // Straight from disk: the asset loader would prefer the copy in an
+            // existing bundle, which is the previous build's text
+            Path source = Paths.get(GameEngine.getLevelPath(ID));
+            CompiledLevel level = compile(ID, Files.readAllBytes(source));
+            Path out = Paths.get(getPath(source.toString()));
+            Files.write(out, level.toBytes());
+            System.out.println("Compiled level " + ID + " into " + out + " (" + Files.size(out) + " bytes, "
+                    + level.placements.size() + " blocks, " + level.collisionRects.size() + " collision walls)");
+        }
+    }
+}
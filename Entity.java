@@ -1,7 +1,5 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 
 /**
  * Base class for game entities with sprite rendering, collision handling and
@@ -9,6 +7,8 @@ import javax.imageio.ImageIO;
  */
 public abstract class Entity extends GameObject { // Image and rendering
     protected BufferedImage sprite;
+    protected SpriteAtlas.Region spriteRegion; // Atlas region the sprite is drawn from, if any
+    protected SpriteAtlas.Region[] spriteVariants; // Current frame pre-flipped at draw size, if any
     protected String spritePath;
     protected double hitboxWidth;
     protected double hitboxHeight;
@@ -62,19 +62,51 @@ public abstract class Entity extends GameObject { // Image and rendering
      */
     protected void loadSprite() {
         if (spritePath != null && !spritePath.isEmpty()) {
-            try {
-                this.sprite = ImageIO.read(getClass().getResourceAsStream(spritePath));
-            } catch (IOException | IllegalArgumentException e) {
+            setSprite(SpriteAtlas.getInstance().getRegion(spritePath));
+            if (sprite == null) {
                 System.out.println("couldn't load sprite " + spritePath);
             }
         }
     }
 
+    /**
+     * Switch to an atlas region, keeping the stand-alone sprite image in sync
+     */
+    protected void setSprite(SpriteAtlas.Region region) {
+        this.spriteRegion = region;
+        this.spriteVariants = null;
+        this.sprite = region != null ? region.getImage() : null;
+    }
+
+    /**
+     * Switch to an animation frame baked in every flip orientation (see
+     * SpriteAtlas.getFlipVariants)
+     */
+    protected void setSpriteVariants(SpriteAtlas.Region[] variants) {
+        setSprite(variants[SpriteAtlas.FLIP_NONE]);
+        this.spriteVariants = variants;
+    }
+
+    /**
+     * Get the current frame's variant for a flip orientation, or null if the
+     * current sprite has no pre-flipped variants
+     */
+    protected SpriteAtlas.Region getFlippedRegion(boolean flipHorizontal, boolean flipVertical) {
+        if (spriteVariants == null) {
+            return null;
+        }
+        int flip = (flipHorizontal ? SpriteAtlas.FLIP_HORIZONTAL : 0) | (flipVertical ? SpriteAtlas.FLIP_VERTICAL : 0);
+        return spriteVariants[flip];
+    }
+
     @Override
     public void draw(Graphics g) {
         if (active && sprite != null) {
-            // Check if we need to scale the sprite
-            if (spriteWidth == sprite.getWidth() && spriteHeight == sprite.getHeight()) {
+            if (spriteRegion != null) {
+                // Draw straight from the atlas page
+                spriteRegion.draw(g, (int) (x - spriteWidth / 2), (int) (y - spriteHeight / 2), (int) spriteWidth,
+                        (int) spriteHeight);
+            } else if (spriteWidth == sprite.getWidth() && spriteHeight == sprite.getHeight()) {
                 // No scaling needed - use the faster draw method
                 g.drawImage(sprite, (int) (x - spriteWidth / 2), (int) (y - spriteHeight / 2), null);
             } else {
@@ -85,6 +117,73 @@ public abstract class Entity extends GameObject { // Image and rendering
         }
     }
 
+    /**
+     * Record the sprite as an image command (same result as the default draw)
+     */
+    protected void submitSprite(RenderQueue queue, int layer) {
+        if (active && sprite != null) {
+            int drawX = (int) (x - spriteWidth / 2);
+            int drawY = (int) (y - spriteHeight / 2);
+            if (spriteRegion != null) {
+                queue.drawRegion(layer, 0, spriteRegion, drawX, drawY, (int) spriteWidth, (int) spriteHeight, null);
+            } else if (spriteWidth == sprite.getWidth() && spriteHeight == sprite.getHeight()) {
+                queue.drawImage(layer, 0, sprite, drawX, drawY);
+            } else {
+                queue.drawImage(layer, 0, sprite, drawX, drawY, (int) spriteWidth, (int) spriteHeight, null);
+            }
+        }
+    }
+
+    /**
+     * Check if this entity is inside the camera's visible area, using whichever
+     * of the sprite or hitbox is larger
+     */
+    @Override
+    public boolean isOnScreen(Camera camera) {
+        double visibleWidth = Math.max(spriteWidth, hitboxWidth);
+        double visibleHeight = Math.max(spriteHeight, hitboxHeight);
+        return camera.isVisible(x - visibleWidth / 2, y - visibleHeight / 2, visibleWidth, visibleHeight);
+    }
+
+    /**
+     * Position, motion and active flag of an entity, for level snapshots
+     */
+    public static class MotionState {
+        private final double x, y;
+        private final double velocityX, velocityY;
+        private final double accelerationX, accelerationY;
+        private final boolean active;
+
+        private MotionState(Entity entity) {
+            this.x = entity.x;
+            this.y = entity.y;
+            this.velocityX = entity.velocity.getX();
+            this.velocityY = entity.velocity.getY();
+            this.accelerationX = entity.acceleration.getX();
+            this.accelerationY = entity.acceleration.getY();
+            this.active = entity.active;
+        }
+    }
+
+    /**
+     * Save position, motion and active flag
+     */
+    public MotionState saveMotion() {
+        return new MotionState(this);
+    }
+
+    /**
+     * Put back position, motion and active flag saved with saveMotion
+     */
+    public void restoreMotion(MotionState state) {
+        x = state.x;
+        y = state.y;
+        velocity.set(state.velocityX, state.velocityY);
+        acceleration.set(state.accelerationX, state.accelerationY);
+        active = state.active;
+        lastUpdateTime = System.nanoTime(); // Don't count the time since the save as one physics step
+    }
+
     /**
      * Apply physics to the entity (velocity, acceleration, etc.)
      */
@@ -1,7 +1,12 @@
 import java.awt.*;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Central game engine class that manages game state
@@ -16,16 +21,26 @@ public class GameEngine {
     private static final ArrayList<Spike> spikes = new ArrayList<>();
     private static final ArrayList<Npc> npcs = new ArrayList<>();
     private static final ArrayList<Laser> lasers = new ArrayList<>();
-    private static ArrayList<boolean[][]> levelLayout = new ArrayList<>();
     private static Level currentLevel; // Level manages its own walls // Game settings
     private static final int MAX_PROJECTILES = 1000;
     private static final ConcurrentLinkedQueue<Projectile> queuedProjectiles = new ConcurrentLinkedQueue<>();
+    private static final RenderQueue renderQueue = new RenderQueue(1024); // Reused every frame
     private static final Set<Integer> keys = new HashSet<>();
 
     // Level progression system
     private static int currentLevelID = 1; // Start with level 1
     private static final int MAX_LEVEL_ID = 3; // Maximum level available
     private static final double LEVEL_END_BOUNDARY = 0.95; // Progress when player reaches 95% of level width
+    private static final double LEVEL_PREFETCH_BOUNDARY = 0.7; // Start building the next level at 70% of level width
+
+    // Next level, built on the worker once the player passes the prefetch
+    // boundary and swapped in at the end boundary
+    private static CompletableFuture<PreparedLevel> nextLevel;
+    private static final ExecutorService levelWorker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "level-prefetch");
+        thread.setDaemon(true); // Never keep the game alive on its own
+        return thread;
+    });
 
     // Death screen system
     private static boolean isDeathScreenActive = false;
@@ -34,6 +49,9 @@ public class GameEngine {
     private static double playerDeathY = 0;
     private static final double DEATH_SCREEN_DURATION = 0.7; // 1 second
 
+    // Level state to go back to on death, saved at level start and checkpoints
+    private static LevelSnapshot checkpoint;
+
     // Dimensions
     public static final int WIDTH = GameSettings.getInstance().getBaseWidth();
     public static final int HEIGHT = GameSettings.getInstance().getBaseHeight();
@@ -48,11 +66,9 @@ public class GameEngine {
         audioManager = AudioManager.getInstance();
         audioManager.playBackgroundMusic();
         
-        currentLevel = new Level("Main Level", LEVEL_WIDTH, LEVEL_HEIGHT, 10);
-        currentLevel.setPlayerSpawnPoint(50, -100);
         currentLevelID = 1; // Start with level 1
-        createLevelLayouts(currentLevelID);
-        createPlatformLayout(currentLevelID);
+        discardNextLevel();
+        installLevel(prepareLevel(currentLevelID, "Main Level"));
         Vector2D playerSpawn = currentLevel.getPlayerSpawnPoint();
         player = new Player("/Sprites/Character/Idle/sprite_0.png", playerSpawn.getX(), playerSpawn.getY()); // Create
                                                                                                              // NPCs at
@@ -69,50 +85,138 @@ public class GameEngine {
             Vector2D cloneSpawn = npcSpawns.get(1);
             npcs.add(new Npc(cloneSpawn.getX(), cloneSpawn.getY(), 1)); // Clone NPC
         }
+        player.resetMotion(); // Same standing start that loadNextLevel checkpoints
+        saveCheckpoint();
     }
 
-    private static void createLevelLayouts(int ID) {
-        // Clear existing level layout data to prevent contamination between levels
-        levelLayout.clear();
+    /**
+     * Build a level with its platforms and hazards and render its layers,
+     * without touching the live game, so it can run on the prefetch worker
+     */
+    private static PreparedLevel prepareLevel(int ID, String name) {
+        PreparedLevel prepared = new PreparedLevel(ID, name);
+        buildLevel(ID, prepared);
+        // Render every chunk now rather than when each first comes on screen,
+        // pinned so the texture budget can't drop them before the level is
+        // installed
+        prepared.level.acquireLayers();
+        prepared.level.prerenderLayers();
+        return prepared;
+    }
 
-        BufferedReader reader;
-        try {
-            switch (ID) {
-                case 1 -> {
-                    reader = new BufferedReader(new FileReader("Static/level1.txt"));
-                }
+    /**
+     * Make a prepared level the current one
+     */
+    private static void installLevel(PreparedLevel prepared) {
+        setCurrentLevel(prepared.level);
+        prepared.level.releaseLayers();
+        lasers.addAll(prepared.lasers);
+        spikes.addAll(prepared.spikes);
+    }
 
-                case 2 -> {
-                    reader = new BufferedReader(new FileReader("Static/level2.txt"));
-                }
-                case 3 -> {
-                    reader = new BufferedReader(new FileReader("Static/level3.txt"));
-                }
-                default -> {
-                    reader = new BufferedReader(new FileReader("Static/level0.txt"));
+    /**
+     * Build a level's platforms and hazards, from its compiled file when there
+     * is one compiled from the current level text, and otherwise from the
+     * level text and the design below
+     */
+    private static void buildLevel(int ID, PreparedLevel target) {
+        byte[] text = readLevelText(ID);
+        String compiledPath = CompiledLevel.getPath(getLevelPath(ID));
+        if (AssetLoader.getInstance().hasFile(compiledPath)) {
+            StartupTrace.Span span = StartupTrace.begin("load compiled level " + ID);
+            try {
+                CompiledLevel compiled = CompiledLevel.read(AssetLoader.getInstance().getFile(compiledPath));
+                if (text != null && !compiled.isCompiledFrom(text)) {
+                    System.out.println("Compiled level " + compiledPath + " is out of date, building level " + ID
+                            + " from its text");
+                } else {
+                    compiled.addPlatformsTo(target.level);
+                    compiled.addHazardsTo(target);
+                    System.out.println("Loaded compiled level " + ID + " from " + compiledPath);
+                    return;
                 }
+            } catch (IOException e) {
+                // Fall back to building it from the text below
+                System.out.println("Could not load compiled level " + compiledPath + ": " + e.getMessage());
+            } finally {
+                span.close();
             }
+        }
+
+        ArrayList<TileBitmap> layouts = StartupTrace.time("parse level " + ID, () -> createLevelLayouts(ID, text));
+        StartupTrace.run("build platforms", () -> createPlatformLayout(ID, layouts, target));
+    }
+
+    /**
+     * Path of a level's layout text
+     */
+    static String getLevelPath(int ID) {
+        return switch (ID) {
+            case 1 -> "Static/level1.txt";
+            case 2 -> "Static/level2.txt";
+            case 3 -> "Static/level3.txt";
+            default -> "Static/level0.txt";
+        };
+    }
+
+    /**
+     * Read a level's layout text file
+     *
+     * @return the text, or null if the file couldn't be read
+     */
+    static byte[] readLevelText(int ID) {
+        String levelPath = getLevelPath(ID);
+        try {
+            return AssetLoader.getInstance().getFile(levelPath);
+        } catch (IOException e) {
+            System.out.println("Could not load level text " + levelPath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read a level's layout blocks from its text file
+     *
+     * @return the blocks in file order, empty if the file couldn't be read
+     */
+    static ArrayList<TileBitmap> createLevelLayouts(int ID) {
+        return createLevelLayouts(ID, readLevelText(ID));
+    }
+
+    /**
+     * Read a level's layout blocks from its layout text
+     *
+     * @param text the text, or null if it couldn't be read
+     * @return the blocks in file order, empty if there is no text
+     */
+    static ArrayList<TileBitmap> createLevelLayouts(int ID, byte[] text) {
+        ArrayList<TileBitmap> levelLayout = new ArrayList<>();
+        if (text == null) {
+            return levelLayout;
+        }
+
+        BufferedReader reader;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(text), StandardCharsets.UTF_8));
             // Read level layout from file
             String line;
             while ((line = reader.readLine()) != null) {
                 String dimensions[] = line.split(" ");
                 int r = Integer.parseInt(dimensions[0]);
                 int c = Integer.parseInt(dimensions[1]);
-                boolean layout[][] = new boolean[r][c];
+                TileBitmap layout = new TileBitmap(r, c);
                 if (dimensions[2].equals("0")) {
                     for (int i = 0; i < r; i++) {
                         String str = reader.readLine();
                         for (int j = 0; j < c; j++) {
-                            layout[i][j] = str.charAt(j) == '1';
+                            if (str.charAt(j) == '1') {
+                                layout.set(i, j, true);
+                            }
                         }
                     }
                 } else {
                     // Fill in blocks for the entire layout
-                    for (int i = 0; i < r; i++) {
-                        for (int j = 0; j < c; j++) {
-                            layout[i][j] = true;
-                        }
-                    }
+                    layout.fill();
                 }
                 levelLayout.add(layout);
                 System.out.println("Loaded layout block: " + r + "x" + c + " (type " + dimensions[2] + ")");
@@ -123,129 +227,181 @@ public class GameEngine {
             System.out.println("Error loading level " + ID + ": " + e.getMessage());
             e.printStackTrace();
         }
+        return levelLayout;
+    }
 
+    /**
+     * A level and its hazards, built away from the live game's entity lists
+     */
+    private static class PreparedLevel implements LevelBuilder {
+        final int ID;
+        final Level level;
+        final ArrayList<Laser> lasers = new ArrayList<>();
+        final ArrayList<Spike> spikes = new ArrayList<>();
+
+        PreparedLevel(int ID, String name) {
+            this.ID = ID;
+            level = new Level(name, LEVEL_WIDTH, LEVEL_HEIGHT, 10);
+            level.setVariantSeed(ID); // Same look on every load, see CompiledLevel.compile
+            level.setPlayerSpawnPoint(50, -100);
+        }
+
+        @Override
+        public void addPlatforms(TileBitmap layout, double offsetX, double offsetY) {
+            level.addPlatformsFromLayout(layout, offsetX, offsetY);
+        }
+
+        @Override
+        public void addSpike(double x, double y, double width, double height, boolean horizontal,
+                boolean reversed) {
+            Spike spike = new Spike(x, y, width, height, level.getVariantSeed());
+            spike.setOrientation(horizontal, reversed);
+            spikes.add(spike);
+            level.addSpike(spike); // Bake into the level's static hazard layer
+        }
+
+        @Override
+        public void addLaser(double headX, double headY, double width, double height, boolean horizontal,
+                boolean reversed) {
+            Laser laser = new Laser(headX, headY, width, height);
+            laser.setOrientation(horizontal, reversed);
+            lasers.add(laser);
+        }
+
+        @Override
+        public void addPermanentDualHeadLaser(double headX, double headY, double width, double height,
+                boolean horizontal, boolean reversed) {
+            Laser laser = new Laser(headX, headY, width, height, true); // true = dual heads
+            laser.setPermanent(true);
+            laser.setOrientation(horizontal, reversed);
+            lasers.add(laser);
+        }
     }
 
     /**
-     * reate a platform layout directly in code
+     * Describe a level's design (which layout blocks go where, and its
+     * hazards) to a builder. The level compiler runs this too, so compiled
+     * levels match; bump CompiledLevel.GENERATOR_VERSION when changing it.
+     *
+     * @param layouts the level's layout blocks, from createLevelLayouts
      */
-    private static void createPlatformLayout(int ID) {
+    static void createPlatformLayout(int ID, ArrayList<TileBitmap> layouts, LevelBuilder builder) {
         switch (ID) {
             case 1 -> {
-                currentLevel.addPlatformsFromLayout(levelLayout.get(0), -45, -60);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(0), 500, -60);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(1), 1100, -60);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(3), 1400, -600);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1350, 150);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(4), 1650, -500);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(3), 1700, 100);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(1), 1650, -60);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(5), 1900, 380);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(0), 2100, -60);
-                addPermanentDualHeadLaser(1421.5, -75, 30, 225, false, false);
-                addPermanentDualHeadLaser(1800, -15, 300, 30, true, false);
-                addPermanentDualHeadLaser(2002.5, -127, 30, 507.5, false, false);
-                // addPermanentDualHeadLaser(1800, 50, 300, 30, true, false);
-                addSpike(700, -75, 36, 36, false, false);
-                addSpike(736, -75, 36, 36, false, false);
-                addSpike(1792, 300, 36, 36, true, false);
-                addSpike(1792, 336, 36, 36, true, false);
-                addSpike(1792, 372, 36, 36, true, false);
-                addSpike(1792, 408, 36, 36, true, false);
-                addSpike(1683, 346, 36, 36, true, true);
-                addSpike(1683, 382, 36, 36, true, true);
-                addSpike(1683, 418, 36, 36, true, true);
+                builder.addPlatforms(layouts.get(0), -45, -60);
+                builder.addPlatforms(layouts.get(0), 500, -60);
+                builder.addPlatforms(layouts.get(1), 1100, -60);
+                builder.addPlatforms(layouts.get(3), 1400, -600);
+                builder.addPlatforms(layouts.get(2), 1350, 150);
+                builder.addPlatforms(layouts.get(4), 1650, -500);
+                builder.addPlatforms(layouts.get(3), 1700, 100);
+                builder.addPlatforms(layouts.get(1), 1650, -60);
+                builder.addPlatforms(layouts.get(5), 1900, 380);
+                builder.addPlatforms(layouts.get(0), 2100, -60);
+                builder.addPermanentDualHeadLaser(1421.5, -75, 30, 225, false, false);
+                builder.addPermanentDualHeadLaser(1800, -15, 300, 30, true, false);
+                builder.addPermanentDualHeadLaser(2002.5, -127, 30, 507.5, false, false);
+                // builder.addPermanentDualHeadLaser(1800, 50, 300, 30, true, false);
+                builder.addSpike(700, -75, 36, 36, false, false);
+                builder.addSpike(736, -75, 36, 36, false, false);
+                builder.addSpike(1792, 300, 36, 36, true, false);
+                builder.addSpike(1792, 336, 36, 36, true, false);
+                builder.addSpike(1792, 372, 36, 36, true, false);
+                builder.addSpike(1792, 408, 36, 36, true, false);
+                builder.addSpike(1683, 346, 36, 36, true, true);
+                builder.addSpike(1683, 382, 36, 36, true, true);
+                builder.addSpike(1683, 418, 36, 36, true, true);
 
             }
 
             case 2 -> {
-                currentLevel.addPlatformsFromLayout(levelLayout.get(0), 0, 0);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(1), 700, -375);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 625, -30);
-                addSpike(675, -200, 50, 50, true, true);
-                addSpike(675, -250, 50, 50, true, true);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 625, 150);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1100, -375);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(3), 1400, -570);
-                addLaser(0, 165, 625, 30, true, true);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1000, -100);
-                addPermanentDualHeadLaser(850, -250, 550, 30, true, false);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1200, -100);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(4), 1200, 150);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(3), 975, 200);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1000, 70);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(4), 1600, 250);
-                addPermanentDualHeadLaser(1080, 225, 120, 25, true, false);
-                addPermanentDualHeadLaser(1350, 260, 255, 40, true, false);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(5), 1600, -250);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1900, -500);
-                addPermanentDualHeadLaser(1925, -445, 30, 200, false, false);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 2050, 320);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(3), 2250, 200);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 2150, 80);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1850, 80);
-                addLaser(1925, -445, 30, 200, false, false);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 2350, -140);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 2600, -240);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 2550, 320);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(0), 2700, -400);
-                addPermanentDualHeadLaser(1750, 315, 300, 30, true, false);
-                addPermanentDualHeadLaser(1920, -275, 425, 30, true, false);
-                addPermanentDualHeadLaser(1920, -400, 425, 30, true, false);
-                addSpike(750, 400, 50, 50, false, true);
-                addSpike(875, 250, 50, 50, true, false);
-                addSpike(950, 250, 50, 50, true, true);
-                addSpike(1545, -120, 75, 75, true, false);
-                addPermanentDualHeadLaser(825, -570, 30, 200, false, false);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(6), 1000, -15);
-                addPermanentDualHeadLaser(1920, 85, 230, 30, true, false);
-                addSpike(1440, 40, 50, 50, false, true);
-                addSpike(2675, -375, 50, 50, true, true);
+                builder.addPlatforms(layouts.get(0), 0, 0);
+                builder.addPlatforms(layouts.get(1), 700, -375);
+                builder.addPlatforms(layouts.get(2), 625, -30);
+                builder.addSpike(675, -200, 50, 50, true, true);
+                builder.addSpike(675, -250, 50, 50, true, true);
+                builder.addPlatforms(layouts.get(2), 625, 150);
+                builder.addPlatforms(layouts.get(2), 1100, -375);
+                builder.addPlatforms(layouts.get(3), 1400, -570);
+                builder.addLaser(0, 165, 625, 30, true, true);
+                builder.addPlatforms(layouts.get(2), 1000, -100);
+                builder.addPermanentDualHeadLaser(850, -250, 550, 30, true, false);
+                builder.addPlatforms(layouts.get(2), 1200, -100);
+                builder.addPlatforms(layouts.get(4), 1200, 150);
+                builder.addPlatforms(layouts.get(3), 975, 200);
+                builder.addPlatforms(layouts.get(2), 1000, 70);
+                builder.addPlatforms(layouts.get(4), 1600, 250);
+                builder.addPermanentDualHeadLaser(1080, 225, 120, 25, true, false);
+                builder.addPermanentDualHeadLaser(1350, 260, 255, 40, true, false);
+                builder.addPlatforms(layouts.get(5), 1600, -250);
+                builder.addPlatforms(layouts.get(2), 1900, -500);
+                builder.addPermanentDualHeadLaser(1925, -445, 30, 200, false, false);
+                builder.addPlatforms(layouts.get(2), 2050, 320);
+                builder.addPlatforms(layouts.get(3), 2250, 200);
+                builder.addPlatforms(layouts.get(2), 2150, 80);
+                builder.addPlatforms(layouts.get(2), 1850, 80);
+                builder.addLaser(1925, -445, 30, 200, false, false);
+                builder.addPlatforms(layouts.get(2), 2350, -140);
+                builder.addPlatforms(layouts.get(2), 2600, -240);
+                builder.addPlatforms(layouts.get(2), 2550, 320);
+                builder.addPlatforms(layouts.get(0), 2700, -400);
+                builder.addPermanentDualHeadLaser(1750, 315, 300, 30, true, false);
+                builder.addPermanentDualHeadLaser(1920, -275, 425, 30, true, false);
+                builder.addPermanentDualHeadLaser(1920, -400, 425, 30, true, false);
+                builder.addSpike(750, 400, 50, 50, false, true);
+                builder.addSpike(875, 250, 50, 50, true, false);
+                builder.addSpike(950, 250, 50, 50, true, true);
+                builder.addSpike(1545, -120, 75, 75, true, false);
+                builder.addPermanentDualHeadLaser(825, -570, 30, 200, false, false);
+                builder.addPlatforms(layouts.get(6), 1000, -15);
+                builder.addPermanentDualHeadLaser(1920, 85, 230, 30, true, false);
+                builder.addSpike(1440, 40, 50, 50, false, true);
+                builder.addSpike(2675, -375, 50, 50, true, true);
             }
             case 3 -> {
-                currentLevel.addPlatformsFromLayout(levelLayout.get(0), -45, -60);
+                builder.addPlatforms(layouts.get(0), -45, -60);
 
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 270, 120);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 170, 270);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 320, 370);
+                builder.addPlatforms(layouts.get(2), 270, 120);
+                builder.addPlatforms(layouts.get(2), 170, 270);
+                builder.addPlatforms(layouts.get(2), 320, 370);
 
-                currentLevel.addPlatformsFromLayout(levelLayout.get(1), 400, -60);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 423, -400);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 423, 470);
-                addPermanentDualHeadLaser(445, -355, 30, 295, false, false);
-                addPermanentDualHeadLaser(445, 60, 30, 410, false, false);
+                builder.addPlatforms(layouts.get(1), 400, -60);
+                builder.addPlatforms(layouts.get(2), 423, -400);
+                builder.addPlatforms(layouts.get(2), 423, 470);
+                builder.addPermanentDualHeadLaser(445, -355, 30, 295, false, false);
+                builder.addPermanentDualHeadLaser(445, 60, 30, 410, false, false);
 
-                currentLevel.addPlatformsFromLayout(levelLayout.get(3), 550, -300);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(3), 1050, -300);
-                addSpike(580, -330, 60, 60, false, false);
-                addLaser(610, -285, 440, 30, true, false);
+                builder.addPlatforms(layouts.get(3), 550, -300);
+                builder.addPlatforms(layouts.get(3), 1050, -300);
+                builder.addSpike(580, -330, 60, 60, false, false);
+                builder.addLaser(610, -285, 440, 30, true, false);
 
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 800, 150);
+                builder.addPlatforms(layouts.get(2), 800, 150);
 
-                currentLevel.addPlatformsFromLayout(levelLayout.get(1), 1200, -60);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1223, -400);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1223, 470);
-                addPermanentDualHeadLaser(1245, -355, 30, 295, false, false);
-                addPermanentDualHeadLaser(1245, 60, 30, 410, false, false);
+                builder.addPlatforms(layouts.get(1), 1200, -60);
+                builder.addPlatforms(layouts.get(2), 1223, -400);
+                builder.addPlatforms(layouts.get(2), 1223, 470);
+                builder.addPermanentDualHeadLaser(1245, -355, 30, 295, false, false);
+                builder.addPermanentDualHeadLaser(1245, 60, 30, 410, false, false);
 
-                addPermanentDualHeadLaser(520, -15, 680, 30, true, false);
+                builder.addPermanentDualHeadLaser(520, -15, 680, 30, true, false);
 
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1400, -100);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 1700, 200);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 2000, -300);
+                builder.addPlatforms(layouts.get(2), 1400, -100);
+                builder.addPlatforms(layouts.get(2), 1700, 200);
+                builder.addPlatforms(layouts.get(2), 2000, -300);
 
-                currentLevel.addPlatformsFromLayout(levelLayout.get(1), 2100, -60);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 2123, -400);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(2), 2123, 470);
-                addPermanentDualHeadLaser(2145, -355, 30, 295, false, false);
-                addPermanentDualHeadLaser(2145, 60, 30, 410, false, false);
-                addPermanentDualHeadLaser(2220, -15, 900, 30, true, false);
+                builder.addPlatforms(layouts.get(1), 2100, -60);
+                builder.addPlatforms(layouts.get(2), 2123, -400);
+                builder.addPlatforms(layouts.get(2), 2123, 470);
+                builder.addPermanentDualHeadLaser(2145, -355, 30, 295, false, false);
+                builder.addPermanentDualHeadLaser(2145, 60, 30, 410, false, false);
+                builder.addPermanentDualHeadLaser(2220, -15, 900, 30, true, false);
 
-                currentLevel.addPlatformsFromLayout(levelLayout.get(4), 2400, -600);
+                builder.addPlatforms(layouts.get(4), 2400, -600);
 
-                currentLevel.addPlatformsFromLayout(levelLayout.get(5), 2500, 50);
-                currentLevel.addPlatformsFromLayout(levelLayout.get(6), 2600 - 65, -520);
-                addSpike(2500 + 45, 325 + 15 - 50, 30, 30, false, true);
+                builder.addPlatforms(layouts.get(5), 2500, 50);
+                builder.addPlatforms(layouts.get(6), 2600 - 65, -520);
+                builder.addSpike(2500 + 45, 325 + 15 - 50, 30, 30, false, true);
 
             }
             default -> {
@@ -299,10 +455,16 @@ public class GameEngine {
         for (int i = 0; i < spikes.size(); i++) {
             spikes.get(i).update();
             if (!spikes.get(i).isActive()) {
+                if (currentLevel != null) {
+                    currentLevel.removeSpike(spikes.get(i)); // Re-render its hazard chunks
+                }
                 spikes.remove(i);
                 i--;
             }
         }
+
+        // Update visual effects
+        VfxSystem.getInstance().update();
         // Update level
         if (currentLevel != null) {
             currentLevel.update();
@@ -319,7 +481,7 @@ public class GameEngine {
                 if (player != null) {
                     player.setActive(true); // Make player visible again
                 }
-                loadLevel(getCurrentLevel()); // Reset level and player position
+                restoreCheckpoint(); // Reset level and player position
             }
         }
 
@@ -330,73 +492,61 @@ public class GameEngine {
     }
 
     /**
-     * Draw all game elements
+     * Draw all game elements. Draw calls are recorded into the render queue and
+     * flushed once, sorted by layer and pipeline state.
      */
     public static void render(Graphics g) {
         Graphics2D g2d = (Graphics2D) g;
+        Camera camera = Camera.getInstance();
+
+        // Fixed background texture (screen space, so it doesn't move)
+        BackgroundRenderer.getInstance().submitBackground(renderQueue);
 
-        // Draw fixed background texture (before camera transform so it doesn't move)
-        BackgroundRenderer.getInstance().drawBackground(g2d); // Apply camera transform for world objects
-        Camera.getInstance().applyTransform(g2d); // Draw level (walls and background)
+        // Level (walls, pre-rendered platform layer and static hazards)
         if (currentLevel != null) {
-            currentLevel.drawWalls(g);
-            // Draw the pre-rendered platform layer
-            currentLevel.drawPlatformLayer(g2d, Camera.getInstance());
-            currentLevel.drawSpikes(g);
-        } // Check if player has inverted gravity (bottom side)
+            currentLevel.submitWalls(renderQueue, camera);
+            currentLevel.submitPlatformLayer(renderQueue, camera);
+            currentLevel.submitHazardLayer(renderQueue, camera);
+        }
+
+        // Everything below is culled against the camera's visible area so render
+        // cost scales with what is on screen rather than with level size
 
-        // Draw clone character
+        // Clone character goes behind the player, other NPCs in front
         for (Npc npc : npcs) {
-            if (npc.getID() == 1) { // Clone character
-                npc.draw(g);
+            if (npc.isOnScreen(camera)) {
+                npc.submit(renderQueue, npc.getID() == 1 ? RenderQueue.LAYER_CLONE : RenderQueue.LAYER_NPCS);
             }
         }
 
-        // Draw player (only if active)
+        // Player (only if active)
         if (player != null && player.isActive()) {
-            player.draw(g);
-        }
-
-        // Draw other NPCs (not the clone)
-        for (Npc npc : npcs) {
-            if (npc.getID() != 1) { // All NPCs except clone
-                npc.draw(g);
-            }
+            player.submit(renderQueue, RenderQueue.LAYER_PLAYER);
         }
 
-        // Draw projectiles
         for (Projectile p : projectiles) {
-            p.draw(g);
+            if (p.isOnScreen(camera)) {
+                p.submit(renderQueue, RenderQueue.LAYER_PROJECTILES);
+            }
         }
 
-        // Draw lasers
         for (Laser laser : lasers) {
-            laser.draw(g);
-            // Only draw hitbox when laser is dangerous
-            // if (laser.isDangerous()) {
-            // g2d.setColor(Color.RED);
-            // g2d.setStroke(new BasicStroke(2.0f));
-            // double[] box = laser.box();
-            // double left = box[0];
-            // double right = box[1];
-            // double top = box[2];
-            // double bottom = box[3];
-            // int boxWidth = (int) (right - left);
-            // int boxHeight = (int) (bottom - top);
-            // g2d.drawRect((int) left, (int) top, boxWidth, boxHeight);
-            // }
-            // hitbox
-        }
-
-        // Draw spikes
-        for (Spike spike : spikes) {
-            spike.draw(g); // Always try to draw (spike handles visibility internally)
+            if (laser.isOnScreen(camera)) {
+                laser.submit(renderQueue, RenderQueue.LAYER_LASERS);
+            }
         }
 
-        WaterBoundary.getInstance().draw(g2d);
+        // Visual effects, all in one overlay
+        VfxSystem.getInstance().submit(renderQueue, camera);
+
+        WaterBoundary.getInstance().submit(renderQueue);
 
-        // Remove camera transform for ui
-        Camera.getInstance().removeTransform(g2d);
+        GameSettings settings = GameSettings.getInstance();
+        if (settings.isParallelRendering()) {
+            renderQueue.flushParallel(g2d, camera, settings.getBaseWidth(), settings.getBaseHeight());
+        } else {
+            renderQueue.flush(g2d, camera);
+        }
     }
 
     /**
@@ -454,16 +604,17 @@ public class GameEngine {
      * @param reversed   true to reverse the orientation (flip direction)
      */
     public static void addSpike(double x, double y, double width, double height, boolean horizontal, boolean reversed) {
-        Spike spike = new Spike(x, y, width, height);
+        Spike spike = new Spike(x, y, width, height, currentLevel.getVariantSeed());
         spike.setOrientation(horizontal, reversed);
         spikes.add(spike);
+        currentLevel.addSpike(spike); // Bake into the level's static hazard layer
     }
 
     /**
      * Load a new level
      */
     public static void loadLevel(Level newLevel) {
-        currentLevel = newLevel;
+        setCurrentLevel(newLevel);
 
         // Reset entities when loading new level
         Vector2D playerSpawn = currentLevel.getPlayerSpawnPoint();
@@ -476,6 +627,39 @@ public class GameEngine {
         // System.out.println("loaded level " + currentLevel.getLevelName());
     }
 
+    /**
+     * Switch the current level, releasing the rendered layers of the one being
+     * left so they don't hold the texture budget
+     */
+    private static void setCurrentLevel(Level level) {
+        if (currentLevel != null && currentLevel != level) {
+            currentLevel.flushLayers();
+        }
+        currentLevel = level;
+    }
+
+    /**
+     * Save the current level state as the point to go back to on death
+     */
+    public static void saveCheckpoint() {
+        checkpoint = LevelSnapshot.capture(currentLevel, player, lasers, spikes, npcs);
+    }
+
+    /**
+     * Put the level back the way it was at the last checkpoint. Projectiles
+     * and water effects are dropped, as none exist when a level starts.
+     */
+    private static void restoreCheckpoint() {
+        if (checkpoint == null || checkpoint.getLevel() != currentLevel) {
+            loadLevel(getCurrentLevel());
+            return;
+        }
+        projectiles.clear();
+        queuedProjectiles.clear();
+        WaterBoundary.getInstance().clearEffects();
+        checkpoint.restore(lasers, spikes, npcs);
+    }
+
     public static void respawn() {
         // Check collision with any laser
         boolean hitLaser = false;
@@ -526,14 +710,8 @@ public class GameEngine {
             Camera camera = Camera.getInstance();
             camera.shake(35, 25, Camera.ShakeType.RANDOM); // Strong rumble for death
 
-            // Create death screen effect projectiles in 45-degree intervals
-            for (int i = 0; i < 8; i++) {
-                double angle = i * 45.0; // 45-degree intervals (0, 45, 90, 135, 180, 225, 270, 315)
-                double initialLogDist = 1.0; // Start with small log distance
-
-                Projectile deathEffect = new Projectile(playerDeathX, playerDeathY, angle, initialLogDist);
-                addProjectile(deathEffect);
-            }
+            // Death burst circles in 45-degree intervals (visual only, not projectiles)
+            VfxSystem.getInstance().spawnDeathBurst(playerDeathX, playerDeathY);
 
             // Ensure player always respawns with normal orientation
             player.setSwap(1); // Force normal gravity
@@ -675,12 +853,31 @@ public class GameEngine {
         double playerX = player.getX();
         double levelWidth = currentLevel.getLevelWidth();
 
+        // Start building the next level once the player is most of the way
+        // through, so it is ready by the end boundary
+        if (playerX >= levelWidth * LEVEL_PREFETCH_BOUNDARY) {
+            prefetchNextLevel();
+        }
+
         // Check if player has reached the end boundary (95% of level width)
         if (playerX >= levelWidth * LEVEL_END_BOUNDARY) {
             progressToNextLevel();
         }
     }
 
+    /**
+     * Start building the next level on the worker, including rendering its
+     * platform and hazard layers, unless it's already under way
+     */
+    private static void prefetchNextLevel() {
+        int levelID = currentLevelID + 1;
+        if (nextLevel != null || levelID > MAX_LEVEL_ID) {
+            return;
+        }
+        System.out.println("Prefetching level " + levelID);
+        nextLevel = CompletableFuture.supplyAsync(() -> prepareLevel(levelID, "Level " + levelID), levelWorker);
+    }
+
     /**
      * Progress to the next level
      */
@@ -710,6 +907,9 @@ public class GameEngine {
         projectiles.clear();
         queuedProjectiles.clear();
 
+        // Clear visual effects
+        VfxSystem.getInstance().clear();
+
         // Clear lasers
         lasers.clear();
 
@@ -726,23 +926,25 @@ public class GameEngine {
     }
 
     /**
-     * Load the next level with specified ID
+     * Load the next level with specified ID, swapping in the prefetched build
+     * when there is one
      */
     private static void loadNextLevel(int levelID) {
         try {
-            // Create new level
-            currentLevel = new Level("Level " + levelID, LEVEL_WIDTH, LEVEL_HEIGHT, 10);
-            currentLevel.setPlayerSpawnPoint(50, -100);
-
-            // Load level layout and platforms
-            createLevelLayouts(levelID);
-            createPlatformLayout(levelID);
+            PreparedLevel prepared = takeNextLevel(levelID);
+            if (prepared == null) {
+                prepared = prepareLevel(levelID, "Level " + levelID);
+            }
+            installLevel(prepared);
 
             // Reset player to spawn point
             Vector2D playerSpawn = currentLevel.getPlayerSpawnPoint();
             if (player != null) {
                 player.setPosition(playerSpawn.getX(), playerSpawn.getY());
                 player.setSwap(1); // Reset gravity to normal
+                // Drop the momentum carried across the end boundary, or every
+                // respawn from the checkpoint would restore it
+                player.resetMotion();
             }
 
             // Recreate NPCs for new level
@@ -751,6 +953,7 @@ public class GameEngine {
                 Vector2D cloneSpawn = npcSpawns.get(1);
                 npcs.add(new Npc(cloneSpawn.getX(), cloneSpawn.getY(), 1)); // Clone NPC
             }
+            saveCheckpoint();
             System.out.println("Successfully loaded level " + levelID);
 
         } catch (Exception e) {
@@ -759,10 +962,54 @@ public class GameEngine {
         }
     }
 
+    /**
+     * Take the prefetched level, waiting for the worker if it hasn't finished
+     *
+     * @return the level, or null if none was prefetched for this ID or the
+     *         build failed
+     */
+    private static PreparedLevel takeNextLevel(int levelID) {
+        CompletableFuture<PreparedLevel> prefetch = nextLevel;
+        nextLevel = null;
+        if (prefetch == null) {
+            return null;
+        }
+        try {
+            PreparedLevel prepared = prefetch.join();
+            if (prepared.ID != levelID) {
+                prepared.level.flushLayers();
+                return null;
+            }
+            return prepared;
+        } catch (CompletionException e) {
+            System.out.println("Could not prefetch level " + levelID + ": " + e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Drop the prefetched level, freeing its rendered layers once the worker
+     * has finished with it
+     */
+    private static void discardNextLevel() {
+        CompletableFuture<PreparedLevel> prefetch = nextLevel;
+        nextLevel = null;
+        if (prefetch != null) {
+            prefetch.thenAccept(prepared -> prepared.level.flushLayers());
+        }
+    }
+
     /**
      * Get the current level ID
      */
     public static int getCurrentLevelID() {
         return currentLevelID;
     }
+
+    /**
+     * Get the highest level ID
+     */
+    public static int getMaxLevelID() {
+        return MAX_LEVEL_ID;
+    }
 }
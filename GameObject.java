@@ -3,7 +3,7 @@ import java.awt.*;
 /**
  * Base abstract class for all game objects with common functionality
  */
-public abstract class GameObject {
+public abstract class GameObject implements RenderQueue.Drawable {
     protected double x; // x position
     protected double y; // y position
     protected double width; // width of hitbox
@@ -30,6 +30,15 @@ public abstract class GameObject {
      */
     public abstract void draw(Graphics g);
 
+    /**
+     * Record this object's draw calls into the render queue. By default the
+     * object draws itself as a custom command; subclasses with simple visuals
+     * submit image or fill commands instead so they can be batched.
+     */
+    public void submit(RenderQueue queue, int layer) {
+        queue.drawCustom(layer, 0, this);
+    }
+
     /**
      * Check if this object is colliding with another game object
      */
@@ -65,6 +74,13 @@ public abstract class GameObject {
                 pointY >= top && pointY <= bottom;
     }
 
+    /**
+     * Check if this object is inside the camera's visible area (center-based)
+     */
+    public boolean isOnScreen(Camera camera) {
+        return camera.isVisible(x - width / 2, y - height / 2, width, height);
+    }
+
     // Getters and setters
     public double getX() {
         return x;
@@ -16,6 +16,25 @@ public class GameSettings {
     private final int baseWidth = 1920; // Reference resolution
     private final int baseHeight = 1080;
 
+    // Filter used when the base-resolution frame is scaled to the window
+    private Object scalingInterpolation = RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+
+    // Rasterize the world and water layers on worker threads (off by default,
+    // enable with -DparallelRendering=true)
+    private boolean parallelRendering = Boolean.getBoolean("parallelRendering");
+
+    // Keep decoded textures as raw pixels on disk so later runs skip PNG
+    // decoding (off by default, enable with -DtextureCache=true)
+    private boolean textureCache = Boolean.getBoolean("textureCache");
+
+    // Read assets from assets.pak when there is an up-to-date one (on by
+    // default, disable with -DassetBundle=false to always use the loose files)
+    private boolean assetBundle = Boolean.parseBoolean(System.getProperty("assetBundle", "true"));
+
+    // Memory allowed for cached textures that can be rebuilt (chunk layers,
+    // background composites), change with -DtextureBudgetMB=n
+    private long textureBudgetBytes = Integer.getInteger("textureBudgetMB", 64) * 1024L * 1024L;
+
     // Level dimensions (scalable game world size)
     private double levelWidthMultiplier = 1.5; // Level width matches screen width exactly
     private double levelHeightMultiplier = 1.0; // Level height matches screen height exactly
@@ -97,7 +116,7 @@ public class GameSettings {
      */
     public static synchronized GameSettings getInstance() {
         if (instance == null) {
-            instance = new GameSettings();
+            instance = StartupTrace.time("GameSettings init", GameSettings::new);
         }
         return instance;
     } // Getters for dimensions
@@ -119,6 +138,47 @@ public class GameSettings {
         return scaleY;
     }
 
+    public Object getScalingInterpolation() {
+        return scalingInterpolation;
+    }
+
+    /**
+     * Set the interpolation hint used to upscale the frame to the window
+     * (e.g. RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR for crisp pixels)
+     */
+    public void setScalingInterpolation(Object scalingInterpolation) {
+        this.scalingInterpolation = scalingInterpolation;
+    }
+
+    public boolean isParallelRendering() {
+        return parallelRendering;
+    }
+
+    public void setParallelRendering(boolean parallelRendering) {
+        this.parallelRendering = parallelRendering;
+    }
+
+    public boolean isTextureCache() {
+        return textureCache;
+    }
+
+    public void setTextureCache(boolean textureCache) {
+        this.textureCache = textureCache;
+    }
+
+    public boolean isAssetBundle() {
+        return assetBundle;
+    }
+
+    public long getTextureBudgetBytes() {
+        return textureBudgetBytes;
+    }
+
+    public void setTextureBudgetBytes(long textureBudgetBytes) {
+        this.textureBudgetBytes = textureBudgetBytes;
+        TextureRegistry.getInstance().setBudgetBytes(textureBudgetBytes);
+    }
+
     public int getBaseWidth() {
         return baseWidth;
     }
@@ -50,6 +50,24 @@ public class GameUtils {
         return min + Math.random() * (max - min);
     }
 
+    /**
+     * Mix a value into a hash. Used for seeds, so the same inputs always give
+     * the same choices.
+     */
+    public static long hash(long hash, long value) {
+        long z = hash * 0x9E3779B97F4A7C15L + value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Seed for something placed at a position, derived from a parent seed
+     */
+    public static long hash(long seed, double x, double y) {
+        return hash(hash(seed, Double.doubleToLongBits(x)), Double.doubleToLongBits(y));
+    }
+
     /**
      * Clamp a value between min and max
      */
@@ -1,7 +1,9 @@
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
 
 /**
@@ -19,6 +21,17 @@ public class Gameloop extends Canvas implements Runnable, KeyListener, Component
     // Set to track pressed keys
     private final Set<Integer> keys = new HashSet<>();
 
+    // World is rendered 1:1 at base resolution into this target, then scaled to
+    // the window in a single blit
+    private VolatileImage worldBuffer;
+    private static final BasicStroke DEFAULT_STROKE = new BasicStroke(3);
+    private static final BasicStroke DEBUG_STROKE = new BasicStroke(1);
+
+    // Loading screen shown until startup assets are ready
+    private volatile boolean loading = false;
+    private static final int LOADING_BAR_WIDTH = 400;
+    private static final int LOADING_BAR_HEIGHT = 16;
+
     /**
      * Create the game window and initialize the canvas
      */
@@ -58,8 +71,28 @@ public class Gameloop extends Canvas implements Runnable, KeyListener, Component
         final long frameTime = 1_000_000_000 / 60; // Target 60 FPS
         long lastTime = System.nanoTime();
 
+        // Load every asset in parallel behind a loading screen, so the first
+        // frames of gameplay don't stop to decode files
+        AssetLoader assetLoader = AssetLoader.getInstance();
+        StartupTrace.Span loadingSpan = StartupTrace.begin("loading screen");
+        CompletableFuture<Void> assets = assetLoader.preloadAll();
+        loading = true;
+        while (running && !assets.isDone()) {
+            render();
+            try {
+                Thread.sleep(frameTime / 1_000_000);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+        render(); // Show the full bar while the game is built
+        loading = false;
+        loadingSpan.close();
+
         // Initialize game state
-        GameEngine.initializeGame(); // Keep gameloop running
+        StartupTrace.run("initialize game", GameEngine::initializeGame);
+        assetLoader.release(); // Everything has taken what it needs
+        boolean firstFrame = true; // Startup ends once the first gameplay frame is shown
         while (running) {
             long now = System.nanoTime();
             if (now - lastTime >= frameTime) {
@@ -67,7 +100,13 @@ public class Gameloop extends Canvas implements Runnable, KeyListener, Component
                 GameEngine.update();
 
                 // Render the current frame
-                render();
+                if (firstFrame) {
+                    StartupTrace.run("first frame", this::render);
+                    StartupTrace.finish();
+                    firstFrame = false;
+                } else {
+                    render();
+                }
 
                 // FPS calculations
                 frames++;
@@ -97,28 +136,68 @@ public class Gameloop extends Canvas implements Runnable, KeyListener, Component
             return;
         }
 
-        // Use Graphics2D for better rendering quality
+        GameSettings settings = GameSettings.getInstance();
+
+        // Render the world in base coordinates, redoing the frame if the
+        // accelerated surface was lost while we were drawing into it
+        do {
+            if (!validateWorldBuffer(settings)) {
+                return;
+            }
+            Graphics2D g = worldBuffer.createGraphics();
+            renderWorld(g, settings);
+            g.dispose();
+        } while (worldBuffer.contentsLost());
+
+        // Upscale the finished frame to the window once, with the chosen filter
         Graphics2D g = (Graphics2D) bs.getDrawGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, settings.getScalingInterpolation());
+        g.drawImage(worldBuffer, 0, 0, settings.getWidth(), settings.getHeight(), null);
 
-        // Enable antialiasing for better quality scaling
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        // Clean up
+        g.dispose();
+        bs.show();
+        Toolkit.getDefaultToolkit().sync(); // force render
+    }
 
-        // Apply scaling transform to render at current resolution
-        GameSettings settings = GameSettings.getInstance();
-        g.scale(settings.getScaleX(), settings.getScaleY());
+    /**
+     * Make sure the base-resolution world target exists and is usable
+     *
+     * @return false if the canvas can't provide a volatile image yet
+     */
+    private boolean validateWorldBuffer(GameSettings settings) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (worldBuffer == null || worldBuffer.getWidth() != settings.getBaseWidth()
+                || worldBuffer.getHeight() != settings.getBaseHeight()
+                || worldBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (worldBuffer != null) {
+                worldBuffer.flush();
+            }
+            worldBuffer = createVolatileImage(settings.getBaseWidth(), settings.getBaseHeight());
+        }
+        return worldBuffer != null;
+    }
 
-        // Clear the screen with scaled coordinates
+    /**
+     * Draw one frame of the game at base resolution (no scaling transform)
+     */
+    private void renderWorld(Graphics2D g, GameSettings settings) {
+        // Clear the screen
         g.setColor(settings.getBackgroundColor());
         g.fillRect(0, 0, settings.getBaseWidth(), settings.getBaseHeight()); // Draw grid for visual reference if
                                                                              // enabled
 
-        g.setStroke(new BasicStroke(3));
+        if (loading) {
+            renderLoadingScreen(g, settings);
+            return;
+        }
+
+        g.setStroke(DEFAULT_STROKE);
 
         // Render game elements
         GameEngine.render(g); // Display debug information if enabled
         if (GameSettings.getInstance().isShowDebug()) {
-            g.setStroke(new BasicStroke(1));
+            g.setStroke(DEBUG_STROKE);
             g.setColor(Color.BLACK);
             // g.setFont(new Font("Arial", Font.PLAIN, 24));
 
@@ -148,13 +227,25 @@ public class Gameloop extends Canvas implements Runnable, KeyListener, Component
             // g.drawString("Scale: " + String.format("%.2f", settings.getScaleX()) + "x"
             //         + String.format("%.2f", settings.getScaleY()), 13, lineY);
         }
-
-        // Clean up
-        g.dispose();
-        bs.show();
-        Toolkit.getDefaultToolkit().sync(); // force render
     } // Add/remove pressed keys to a hashset to detect what the user is pressing
 
+    /**
+     * Draw a progress bar for the assets still loading
+     */
+    private void renderLoadingScreen(Graphics2D g, GameSettings settings) {
+        int barX = (settings.getBaseWidth() - LOADING_BAR_WIDTH) / 2;
+        int barY = (settings.getBaseHeight() - LOADING_BAR_HEIGHT) / 2;
+        int filled = (int) (LOADING_BAR_WIDTH * AssetLoader.getInstance().getProgress());
+
+        g.setColor(Color.DARK_GRAY);
+        g.fillRect(barX, barY, LOADING_BAR_WIDTH, LOADING_BAR_HEIGHT);
+        g.setColor(Color.WHITE);
+        g.fillRect(barX, barY, filled, LOADING_BAR_HEIGHT);
+        g.setStroke(DEBUG_STROKE);
+        g.drawRect(barX, barY, LOADING_BAR_WIDTH, LOADING_BAR_HEIGHT);
+    }
+
+
     @Override
     public void keyPressed(KeyEvent e) {
         keys.add(e.getKeyCode());
@@ -1,16 +1,16 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 
 public class Laser extends Entity {
     private long creationTime = 0;
     private boolean state = true; // Animation system for laser effects
     private BufferedImage[] laserAnimationSprites; // sprites 0-4 for laser beam animation
     private BufferedImage[] laserBaseSprites; // sprites 5-9 for laser base
-    private int currentAnimationFrame = 0;
-    private int animationTimer = 0;
     private static final int LASER_ANIMATION_SPEED = 10; // Same as character idle animation
+    // Beam frames are baked per laser, so the shared clip only provides the timing
+    private static final AnimationClip BEAM_CLIP = AnimationClip.getTimingClip("laser/beam", 5,
+            LASER_ANIMATION_SPEED, true);
+    private final Animator animator = new Animator();
 
     // Orientation system
     private boolean isHorizontal = true; // true = horizontal, false = vertical
@@ -22,6 +22,8 @@ public class Laser extends Entity {
                                           // transformed sprites
     private BufferedImage[] cachedLaserSprites; // Cached transformed laser sprites
     private BufferedImage[] cachedBaseSprites; // Cached transformed base sprites
+    private BufferedImage[] cachedSecondHeadSprites; // Opposite-facing heads for dual-head lasers
+    private BufferedImage[] bakedBeamStrips; // Whole beam pre-tiled at hitbox size, one per animation frame
     private boolean spritesNeedUpdate = true; // Flag to update cached sprites // Sprite sizing constants
     private static final int MAX_SPRITE_SIZE = 32; // Max sprite size to fit in hitbox
     private static final int BASE_SPRITE_SIZE = 42; // Bigger base sprite size for the head
@@ -65,6 +67,10 @@ public class Laser extends Entity {
         this.isHorizontal = horizontal;
         this.isReversed = reversed;
 
+        // Rebuild the transformed sprites and beam strips for the new orientation
+        this.spritesNeedUpdate = true;
+        cacheTransformedSprites();
+
         System.out.println("Laser orientation set - horizontal: " + horizontal + ", reversed: " + reversed);
     }
 
@@ -94,25 +100,23 @@ public class Laser extends Entity {
      * Load all laser sprite frames
      */
     private void loadLaserSprites() {
+        SpriteAtlas atlas = SpriteAtlas.getInstance();
+
         // Load laser animation sprites (sprite_00.png to sprite_04.png)
         laserAnimationSprites = new BufferedImage[5];
         for (int i = 0; i < 5; i++) {
-            try {
-                laserAnimationSprites[i] = ImageIO
-                        .read(getClass().getResourceAsStream(String.format("/Sprites/Labseor/sprite_%02d.png", i)));
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("Could not load laser animation sprite " + i + ": " + e.getMessage());
+            laserAnimationSprites[i] = atlas.getImage(String.format("/Sprites/Labseor/sprite_%02d.png", i));
+            if (laserAnimationSprites[i] == null) {
+                System.out.println("Could not load laser animation sprite " + i);
             }
         }
 
         // Load laser base sprites (sprite_05.png to sprite_09.png)
         laserBaseSprites = new BufferedImage[5];
         for (int i = 0; i < 5; i++) {
-            try {
-                laserBaseSprites[i] = ImageIO
-                        .read(getClass().getResourceAsStream(String.format("/Sprites/Labseor/sprite_%02d.png", i + 5)));
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("Could not load laser base sprite " + (i + 5) + ": " + e.getMessage());
+            laserBaseSprites[i] = atlas.getImage(String.format("/Sprites/Labseor/sprite_%02d.png", i + 5));
+            if (laserBaseSprites[i] == null) {
+                System.out.println("Could not load laser base sprite " + (i + 5));
             }
         }
     }
@@ -121,6 +125,8 @@ public class Laser extends Entity {
      * Cache transformed sprites for performance optimization
      */
     private void cacheTransformedSprites() {
+        if (!spritesNeedUpdate)
+            return;
 
         cachedLaserSprites = new BufferedImage[laserAnimationSprites.length];
         cachedBaseSprites = new BufferedImage[laserBaseSprites.length];
@@ -198,23 +204,130 @@ public class Laser extends Entity {
                 cachedBaseSprites[i] = transformedSprite;
             }
         }
+
+        cacheSecondHeadSprites();
+        bakeBeamStrips();
+
+        spritesNeedUpdate = false;
+    }
+
+    /**
+     * Cache the opposite-facing head used at the far end of dual-head lasers
+     */
+    private void cacheSecondHeadSprites() {
+        cachedSecondHeadSprites = new BufferedImage[cachedBaseSprites.length];
+        if (!hasDualHeads)
+            return;
+
+        int headSize = BASE_SPRITE_SIZE;
+        for (int i = 0; i < cachedBaseSprites.length; i++) {
+            BufferedImage baseSprite = cachedBaseSprites[i];
+            if (baseSprite == null)
+                continue;
+
+            if (isHorizontal) {
+                // Right head faces the opposite direction
+                cachedSecondHeadSprites[i] = flipImageHorizontally(baseSprite);
+            } else {
+                // Bottom head is flipped 180 degrees
+                BufferedImage flippedSprite = new BufferedImage(headSize, headSize, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D flipG2d = flippedSprite.createGraphics();
+                flipG2d.rotate(Math.toRadians(180), headSize / 2.0, headSize / 2.0);
+                flipG2d.drawImage(baseSprite, 0, 0, headSize, headSize, null);
+                flipG2d.dispose();
+                cachedSecondHeadSprites[i] = flippedSprite;
+            }
+        }
+    }
+
+    /**
+     * Tile each beam animation frame across the exact hitbox size once, so
+     * drawing the beam is a single blit instead of a clipped drawImage per tile
+     */
+    private void bakeBeamStrips() {
+        bakedBeamStrips = new BufferedImage[cachedLaserSprites.length];
+
+        int beamWidth = (int) (x + width) - (int) x;
+        int beamHeight = (int) (y + height) - (int) y;
+        if (beamWidth <= 0 || beamHeight <= 0)
+            return;
+
+        for (int i = 0; i < cachedLaserSprites.length; i++) {
+            BufferedImage tile = cachedLaserSprites[i];
+            if (tile == null)
+                continue;
+
+            BufferedImage strip = new BufferedImage(beamWidth, beamHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = strip.createGraphics();
+
+            int tileWidth = tile.getWidth();
+            int tileHeight = tile.getHeight();
+            for (int drawX = 0; drawX < beamWidth; drawX += tileWidth) {
+                for (int drawY = 0; drawY < beamHeight; drawY += tileHeight) {
+                    // Clip the tile if it extends beyond the beam bounds
+                    int clipWidth = Math.min(tileWidth, beamWidth - drawX);
+                    int clipHeight = Math.min(tileHeight, beamHeight - drawY);
+                    g2d.drawImage(tile, drawX, drawY, drawX + clipWidth, drawY + clipHeight,
+                            0, 0, clipWidth, clipHeight, null);
+                }
+            }
+            g2d.dispose();
+
+            bakedBeamStrips[i] = strip;
+        }
     }
 
     /**
      * Update laser animation
      */
     private void updateLaserAnimation() {
-        // Update animation timer
-        animationTimer++;
-
-        // Change frame when timer reaches animation speed
-        if (animationTimer >= LASER_ANIMATION_SPEED) {
-            animationTimer = 0;
-            // Randomly cycle through animation frames for dynamic effect
-            currentAnimationFrame = (int) (Math.random() * laserAnimationSprites.length);
+        // Randomly cycle through animation frames for dynamic effect
+        animator.play(BEAM_CLIP);
+        animator.update();
+    }
+
+    /**
+     * Get the beam animation playback state (for snapshots)
+     */
+    public Animator getAnimator() {
+        return animator;
+    }
+
+    /**
+     * Pulse phase and beam animation, for level snapshots
+     */
+    public static class State {
+        private final boolean on;
+        private final long phaseElapsed; // Nanoseconds into the current on/off phase
+        private final boolean active;
+        private final Animator animator = new Animator();
+
+        private State(Laser laser, long now) {
+            this.on = laser.state;
+            this.phaseElapsed = now - laser.creationTime;
+            this.active = laser.active;
+            this.animator.copyFrom(laser.animator);
         }
     }
 
+    /**
+     * Save the pulse phase and beam animation
+     */
+    public State saveState() {
+        return new State(this, System.nanoTime());
+    }
+
+    /**
+     * Put back state saved with saveState, resuming the pulse as far into its
+     * phase as it was when saved
+     */
+    public void restoreState(State saved) {
+        state = saved.on;
+        creationTime = System.nanoTime() - saved.phaseElapsed;
+        active = saved.active;
+        animator.copyFrom(saved.animator);
+    }
+
     public void update() {
         // Update laser animation
         updateLaserAnimation();
@@ -406,39 +519,13 @@ public class Laser extends Entity {
         }
 
         // Draw laser beam first (behind the head) - fills entire hitbox when state is
-        // true
-        if (state && cachedLaserSprites != null && currentAnimationFrame < cachedLaserSprites.length) {
-            BufferedImage currentSprite = cachedLaserSprites[currentAnimationFrame];
-
-            if (currentSprite != null) {
-                // Beam fills the entire hitbox
-                int beamWidth = (int) width;
-                int beamHeight = (int) height;
-
-                // Calculate sprite tiling for the entire hitbox
-                int spriteWidth = currentSprite.getWidth();
-                int spriteHeight = currentSprite.getHeight();
-
-                int tilesX = (int) Math.ceil(beamWidth / (double) spriteWidth);
-                int tilesY = (int) Math.ceil(beamHeight / (double) spriteHeight);
-
-                // Draw beam sprites to fill entire hitbox
-                for (int tileX = 0; tileX < tilesX; tileX++) {
-                    for (int tileY = 0; tileY < tilesY; tileY++) {
-                        int drawX = hitboxLeft + (tileX * spriteWidth);
-                        int drawY = hitboxTop + (tileY * spriteHeight);
-
-                        // Only draw if within hitbox bounds
-                        if (drawX < hitboxRight && drawY < hitboxBottom) {
-                            // Clip the sprite if it extends beyond hitbox bounds
-                            int clipWidth = Math.min(spriteWidth, hitboxRight - drawX);
-                            int clipHeight = Math.min(spriteHeight, hitboxBottom - drawY);
-
-                            g2d.drawImage(currentSprite, drawX, drawY, drawX + clipWidth, drawY + clipHeight,
-                                    0, 0, clipWidth, clipHeight, null);
-                        }
-                    }
-                }
+        // true, using the strip baked for the current animation frame
+        int currentAnimationFrame = animator.getFrame();
+        if (state && bakedBeamStrips != null && currentAnimationFrame < bakedBeamStrips.length) {
+            BufferedImage beamStrip = bakedBeamStrips[currentAnimationFrame];
+
+            if (beamStrip != null) {
+                g2d.drawImage(beamStrip, hitboxLeft, hitboxTop, null);
             }
         } // Draw laser head(s) on top (always visible, regardless of pulse state)
           // Head(s) can extend beyond hitbox perpendicular to laser direction
@@ -470,7 +557,7 @@ public class Laser extends Entity {
                         g2d.drawImage(baseSprite, head1DrawX, head1DrawY, headSize, headSize, null);
 
                         // Draw right head (flipped horizontally to face opposite direction)
-                        BufferedImage flippedSprite = flipImageHorizontally(baseSprite);
+                        BufferedImage flippedSprite = cachedSecondHeadSprites[headAnimationFrame];
                         g2d.drawImage(flippedSprite, head2DrawX, head2DrawY, headSize, headSize, null);
                     } else {
                         // heads at top and bottom edges
@@ -490,16 +577,8 @@ public class Laser extends Entity {
                         int head2DrawX = (int) (head2CenterX - headSize / 2);
                         int head2DrawY = (int) (head2CenterY - headSize / 2);
 
-                        // Create a flipped version of the sprite for the bottom head
-                        BufferedImage flippedSprite = new BufferedImage(headSize, headSize,
-                                BufferedImage.TYPE_INT_ARGB);
-                        Graphics2D flipG2d = flippedSprite.createGraphics();
-
-                        // Flip 180 degrees by rotating around the center
-                        flipG2d.rotate(Math.toRadians(180), headSize / 2.0, headSize / 2.0);
-                        flipG2d.drawImage(baseSprite, 0, 0, headSize, headSize, null);
-                        flipG2d.dispose();
-
+                        // Use the cached 180 degree flipped sprite for the bottom head
+                        BufferedImage flippedSprite = cachedSecondHeadSprites[headAnimationFrame];
                         g2d.drawImage(flippedSprite, head2DrawX, head2DrawY, headSize, headSize, null);
                     }
                 } else {
@@ -528,6 +607,16 @@ public class Laser extends Entity {
         return new double[] { laserLeft, laserRight, laserTop, laserBottom };
     }
 
+    /**
+     * Override isOnScreen to use top-left positioning, padded by the head size
+     * since heads extend past the hitbox perpendicular to the beam
+     */
+    @Override
+    public boolean isOnScreen(Camera camera) {
+        double pad = BASE_SPRITE_SIZE / 2.0;
+        return camera.isVisible(x - pad, y - pad, width + 2 * pad, height + 2 * pad);
+    }
+
     /**
      * Override isColliding method to handle top-left positioned laser
      * properly with center-based positioned entities
@@ -1,12 +1,15 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.HashMap;
 
 /**
  * Level class that manages walls, spawn points, and level-specific
  * configurations
  */
 public class Level {
+    public static final int PLATFORM_TILE_SIZE = 15; // Size of layout tiles placed with an offset
+
     private ArrayList<Wall> walls;
     private ArrayList<Spike> spikes;
     private ArrayList<Wall> platformWalls; // Platform collision boxes (separate from visual)
@@ -18,8 +21,11 @@ public class Level {
     private int wallThickness;
     private Color backgroundColor; // Platform visual data (separate from collision)
     private ArrayList<PlatformGenerator.PlatformSpriteData> platformSprites;
-    private BufferedImage platformLayer; // Pre-rendered visual layer
+    private ChunkedLayer platformLayer; // Pre-rendered visual layer
     private boolean platformLayerReady = false;
+    private final HashMap<String, BufferedImage> platformTileCache = new HashMap<>(); // Loaded tiles by path and rotation
+    private ChunkedLayer hazardLayer; // Pre-rendered static hazards (spikes)
+    private long variantSeed = 0; // Picks tile and crystal variants, see setVariantSeed
 
     /**
      * Create a new level with basic parameters
@@ -121,7 +127,24 @@ public class Level {
     }
 
     public void addSpike(double x, double y, double width, double height) {
-        spikes.add(new Spike(x, y, width, height));
+        addSpike(new Spike(x, y, width, height));
+    }
+
+    /**
+     * Add a spike to the level and bake it into the static hazard layer
+     */
+    public void addSpike(Spike spike) {
+        spikes.add(spike);
+        markHazardDirty(spike);
+    }
+
+    /**
+     * Remove a spike from the level and re-render the hazard chunks it covered
+     */
+    public void removeSpike(Spike spike) {
+        if (spikes.remove(spike)) {
+            markHazardDirty(spike);
+        }
     }
 
     /**
@@ -140,68 +163,76 @@ public class Level {
     }
 
     /**
-     * Create a pre-rendered platform layer from the sprite data
+     * Create a pre-rendered platform layer from the sprite data. Every chunk is
+     * rendered when the level is built (see prerenderLayers); only chunks that
+     * are dirtied or evicted later re-render, when next on screen.
      */
     private void createPlatformLayer(ArrayList<PlatformGenerator.PlatformSpriteData> sprites) {
-        System.out.println("Creating platform layer: " + levelWidth + "x" + levelHeight);
-
-        // Create a BufferedImage the size of the level
-        platformLayer = new BufferedImage(levelWidth, levelHeight, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = platformLayer.createGraphics();
-
-        // Set rendering hints for better quality
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
-
-        // Clear the image with transparent background
-        g2d.setComposite(AlphaComposite.Clear);
-        g2d.fillRect(0, 0, levelWidth, levelHeight);
-        g2d.setComposite(AlphaComposite.SrcOver);
+        if (platformLayer == null) {
+            System.out.println("Creating platform layer: " + levelWidth + "x" + levelHeight);
+            platformLayer = new ChunkedLayer("platform", 0, -levelHeight / 2, levelWidth, levelHeight,
+                    this::paintPlatforms);
+        } else {
+            platformLayer.markAllDirty();
+        }
+        platformLayerReady = true;
+    }
 
-        // Calculate coordinate offset to handle negative Y coordinates
+    /**
+     * Paint the platform sprites overlapping a chunk
+     */
+    private boolean paintPlatforms(Graphics2D g2d, Rectangle bounds) {
         // Level coordinate system: Y ranges from -levelHeight/2 to +levelHeight/2
-        // BufferedImage coordinate system: Y ranges from 0 to levelHeight
         int halfHeight = levelHeight / 2;
+        boolean drewAnything = false;
 
-        // Draw each sprite to the pre-rendered layer
-        for (PlatformGenerator.PlatformSpriteData sprite : sprites) {
-            // Convert world coordinates to image coordinates
-            int imageX = (int) sprite.x;
-            int imageY = (int) sprite.y + halfHeight; // Offset negative Y coordinates
-
-            // Only draw if the sprite is within the image bounds
-            if (imageX >= 0 && imageX < levelWidth &&
-                    imageY >= 0 && imageY < levelHeight &&
-                    imageX + sprite.width >= 0 &&
-                    imageY + sprite.height >= 0) {
-
-                // Load and draw the sprite
-                try {
-                    BufferedImage spriteImage = javax.imageio.ImageIO.read(
-                            getClass().getResourceAsStream(sprite.spritePath));
-
-                    if (spriteImage != null) {
-                        // Apply rotation if needed
-                        if (sprite.rotation != 0) {
-                            spriteImage = rotateImage(spriteImage, sprite.rotation);
-                        }
+        for (PlatformGenerator.PlatformSpriteData sprite : platformSprites) {
+            int drawX = (int) sprite.x;
+            int drawY = (int) sprite.y;
+            int imageY = drawY + halfHeight;
 
-                        g2d.drawImage(spriteImage, imageX, imageY,
-                                (int) sprite.width, (int) sprite.height, null);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error loading sprite: " + sprite.spritePath);
-                    // Draw a colored rectangle as fallback
-                    g2d.setColor(Color.GRAY);
-                    g2d.fillRect(imageX, imageY, (int) sprite.width, (int) sprite.height);
-                }
+            // Only draw if the sprite is within the level bounds
+            if (drawX < 0 || drawX >= levelWidth || imageY < 0 || imageY >= levelHeight) {
+                continue;
+            }
+            if (!bounds.intersects(drawX, drawY, sprite.width, sprite.height)) {
+                continue;
+            }
+
+            BufferedImage spriteImage = getPlatformTile(sprite);
+            if (spriteImage != null) {
+                g2d.drawImage(spriteImage, drawX, drawY, (int) sprite.width, (int) sprite.height, null);
+            } else {
+                // Draw a colored rectangle as fallback
+                g2d.setColor(Color.GRAY);
+                g2d.fillRect(drawX, drawY, (int) sprite.width, (int) sprite.height);
             }
+            drewAnything = true;
         }
 
-        g2d.dispose();
-        platformLayerReady = true;
+        return drewAnything;
+    }
+
+    /**
+     * Get a platform tile image with its rotation applied, loading it on first use
+     */
+    private BufferedImage getPlatformTile(PlatformGenerator.PlatformSpriteData sprite) {
+        String key = sprite.spritePath + "@" + sprite.rotation;
+        if (platformTileCache.containsKey(key)) {
+            return platformTileCache.get(key);
+        }
+
+        // Platform tiles come from the sprite atlas
+        BufferedImage spriteImage = SpriteAtlas.getInstance().getImage(sprite.spritePath);
+        if (spriteImage == null) {
+            System.err.println("Error loading sprite: " + sprite.spritePath);
+        } else if (sprite.rotation != 0) {
+            // Apply rotation if needed
+            spriteImage = rotateImage(spriteImage, sprite.rotation);
+        }
 
-        System.out.println("Platform layer pre-rendered successfully");
+        platformTileCache.put(key, spriteImage);
+        return spriteImage;
     }
 
     /**
@@ -226,14 +257,63 @@ public class Level {
     }
 
     /**
-     * Draw the pre-rendered platform layer
+     * Submit the on-screen chunks of the pre-rendered platform layer
      */
-    public void drawPlatformLayer(Graphics2D g, Camera camera) {
+    public void submitPlatformLayer(RenderQueue queue, Camera camera) {
         if (platformLayerReady && platformLayer != null) {
-            // The platform layer is pre-rendered with Y coordinates offset by halfHeight
-            // to handle negative Y coordinates, so we need to offset it back when drawing
-            int halfHeight = levelHeight / 2;
-            g.drawImage(platformLayer, 0, -halfHeight, null);
+            platformLayer.submit(queue, RenderQueue.LAYER_PLATFORMS, camera);
+        }
+    }
+
+    /**
+     * Render all of the platform and hazard layers ahead of time, so a level
+     * shows without rendering chunks on its first frames
+     */
+    public void prerenderLayers() {
+        if (platformLayer != null) {
+            platformLayer.prerender();
+        }
+        if (hazardLayer != null) {
+            hazardLayer.prerender();
+        }
+    }
+
+    /**
+     * Pin the chunks of the platform and hazard layers so they aren't dropped
+     * before the level is shown. Undo with releaseLayers.
+     */
+    public void acquireLayers() {
+        if (platformLayer != null) {
+            platformLayer.acquireAll();
+        }
+        if (hazardLayer != null) {
+            hazardLayer.acquireAll();
+        }
+    }
+
+    /**
+     * Unpin the chunks pinned by acquireLayers, letting the texture budget drop
+     * them again
+     */
+    public void releaseLayers() {
+        if (platformLayer != null) {
+            platformLayer.releaseAll();
+        }
+        if (hazardLayer != null) {
+            hazardLayer.releaseAll();
+        }
+    }
+
+    /**
+     * Drop the rendered chunks of the platform and hazard layers, freeing
+     * their share of the texture budget. They re-render if shown again.
+     */
+    public void flushLayers() {
+        if (platformLayer != null) {
+            platformLayer.flush();
+        }
+        if (hazardLayer != null) {
+            hazardLayer.flush();
         }
     }
 
@@ -250,6 +330,19 @@ public class Level {
         }
     }
 
+    /**
+     * Set the seed that picks the level's tile and crystal variants. Each
+     * layout block and crystal hashes it with its position, so the level looks
+     * the same every time it is built.
+     */
+    public void setVariantSeed(long variantSeed) {
+        this.variantSeed = variantSeed;
+    }
+
+    public long getVariantSeed() {
+        return variantSeed;
+    }
+
     /**
      * Set player spawn point
      */
@@ -282,19 +375,54 @@ public class Level {
     }
 
     /**
-     * Draw all walls in the level
+     * Submit all visible walls in the level (transparent and off-screen walls are
+     * skipped)
      */
-    public void drawWalls(Graphics g) {
+    public void submitWalls(RenderQueue queue, Camera camera) {
         for (Wall wall : walls) {
-            wall.draw(g);
+            if (wall.isVisible() && wall.isOnScreen(camera)) {
+                wall.submit(queue, RenderQueue.LAYER_WALLS);
+            }
         }
     }
 
-    // Draw spikes in the level.
-    public void drawSpikes(Graphics g) {
+    /**
+     * Submit the on-screen chunks of the static hazard layer. Spikes never move,
+     * so they are rendered into the layer once instead of drawn every frame.
+     */
+    public void submitHazardLayer(RenderQueue queue, Camera camera) {
+        if (hazardLayer != null) {
+            hazardLayer.submit(queue, RenderQueue.LAYER_HAZARDS, camera);
+        }
+    }
+
+    /**
+     * Mark the hazard chunks under a spike for re-rendering
+     */
+    private void markHazardDirty(Spike spike) {
+        if (hazardLayer == null) {
+            hazardLayer = new ChunkedLayer("hazard", 0, -levelHeight / 2, levelWidth, levelHeight,
+                    this::paintHazards);
+            return;
+        }
+        hazardLayer.markDirty(spike.getX() - spike.getWidth() / 2, spike.getY() - spike.getHeight() / 2,
+                spike.getWidth(), spike.getHeight());
+    }
+
+    /**
+     * Paint the active spikes overlapping a chunk
+     */
+    private boolean paintHazards(Graphics2D g2d, Rectangle bounds) {
+        boolean drewAnything = false;
         for (Spike spike : spikes) {
-            spike.draw(g);
+            double left = spike.getX() - spike.getWidth() / 2;
+            double top = spike.getY() - spike.getHeight() / 2;
+            if (spike.isActive() && bounds.intersects(left, top, spike.getWidth(), spike.getHeight())) {
+                spike.draw(g2d);
+                drewAnything = true;
+            }
         }
+        return drewAnything;
     }
 
     /**
@@ -651,7 +779,19 @@ public class Level {
      * @param offsetY  Y offset to apply to all platforms
      */
     public void addPlatformsFromLayout(boolean[][] layout, double offsetX, double offsetY) {
-        int tileSize = 15;
+        addPlatformsFromLayout(TileBitmap.fromArray(layout), offsetX, offsetY);
+    }
+
+    /**
+     * Add platforms from a tile bitmap with custom x,y positioning to the
+     * existing level
+     * 
+     * @param layout  solid and empty tiles, PLATFORM_TILE_SIZE pixels each
+     * @param offsetX X offset to apply to all platforms
+     * @param offsetY Y offset to apply to all platforms
+     */
+    public void addPlatformsFromLayout(TileBitmap layout, double offsetX, double offsetY) {
+        int tileSize = PLATFORM_TILE_SIZE;
         // Generate optimized collision rectangles with offset (grouped tiles, not per
         // tile)
         ArrayList<Wall> generatedCollisionWalls = PlatformGenerator.generateCollisionPlatformsWithOffset(
@@ -661,7 +801,8 @@ public class Level {
 
         // Generate visual sprites with offset (purely decorative)
         ArrayList<PlatformGenerator.PlatformSpriteData> newVisualSprites = PlatformGenerator
-                .generateVisualSpritesWithOffset(layout, tileSize, offsetX, offsetY);
+                .generateVisualSpritesWithOffset(layout, tileSize, offsetX, offsetY,
+                        GameUtils.hash(variantSeed, offsetX, offsetY));
 
         // Re-render visual layer with new sprites added
         addSpritesToPlatformLayer(newVisualSprites);
@@ -703,6 +844,23 @@ public class Level {
         System.out.println("Total platform walls: " + platformWalls.size());
     }
 
+    /**
+     * Add platforms whose collision walls and sprites were already worked out
+     * (by the level compiler), re-rendering the visual layer once for all of
+     * them
+     *
+     * @param collisionWalls merged collision rectangles
+     * @param sprites        visual sprites, one per tile
+     */
+    public void addCompiledPlatforms(ArrayList<Wall> collisionWalls,
+            ArrayList<PlatformGenerator.PlatformSpriteData> sprites) {
+        platformWalls.addAll(collisionWalls);
+        addSpritesToPlatformLayer(sprites);
+
+        System.out.println("Added " + collisionWalls.size() + " compiled collision walls and " +
+                sprites.size() + " visual sprites to existing level");
+    }
+
     /**
      * Helper method to add new sprites to the existing platform layer
      * This regenerates the entire visual layer with existing + new sprites
@@ -0,0 +1,32 @@
+/**
+ * Receives the pieces of a level as its design is described. The game builds
+ * the level straight from them; the level compiler records them into a
+ * compiled level file instead.
+ */
+public interface LevelBuilder {
+    /**
+     * Place a layout block of platform tiles
+     *
+     * @param layout  solid and empty tiles
+     * @param offsetX X position of the block's top-left corner
+     * @param offsetY Y position of the block's top-left corner
+     */
+    void addPlatforms(TileBitmap layout, double offsetX, double offsetY);
+
+    /**
+     * Place a spike (see GameEngine.addSpike)
+     */
+    void addSpike(double x, double y, double width, double height, boolean horizontal, boolean reversed);
+
+    /**
+     * Place a timed laser (see GameEngine.addLaser)
+     */
+    void addLaser(double headX, double headY, double width, double height, boolean horizontal, boolean reversed);
+
+    /**
+     * Place an always-on dual head laser (see
+     * GameEngine.addPermanentDualHeadLaser)
+     */
+    void addPermanentDualHeadLaser(double headX, double headY, double width, double height, boolean horizontal,
+            boolean reversed);
+}
@@ -0,0 +1,100 @@
+import java.util.List;
+
+/**
+ * The mutable state of a level in play: the player, laser pulse phases and
+ * animations, which spikes are still there, and the NPCs. Taken when a level
+ * starts (and at checkpoints) and put back on death, so a respawn resets the
+ * level exactly without rebuilding any of it.
+ *
+ * Entities are held by reference and their states copied, so restoring only
+ * writes fields back; nothing is created or loaded.
+ */
+public class LevelSnapshot {
+    private final Level level;
+
+    private final Player player;
+    private final Player.State playerState;
+
+    private final Laser[] lasers;
+    private final Laser.State[] laserStates;
+
+    private final Spike[] spikes;
+    private final boolean[] spikeActive;
+
+    private final Npc[] npcs;
+    private final Npc.State[] npcStates;
+
+    private LevelSnapshot(Level level, Player player, List<Laser> lasers, List<Spike> spikes, List<Npc> npcs) {
+        this.level = level;
+
+        this.player = player;
+        this.playerState = player != null ? player.saveState() : null;
+
+        this.lasers = lasers.toArray(new Laser[0]);
+        this.laserStates = new Laser.State[this.lasers.length];
+        for (int i = 0; i < this.lasers.length; i++) {
+            laserStates[i] = this.lasers[i].saveState();
+        }
+
+        this.spikes = spikes.toArray(new Spike[0]);
+        this.spikeActive = new boolean[this.spikes.length];
+        for (int i = 0; i < this.spikes.length; i++) {
+            spikeActive[i] = this.spikes[i].isActive();
+        }
+
+        this.npcs = npcs.toArray(new Npc[0]);
+        this.npcStates = new Npc.State[this.npcs.length];
+        for (int i = 0; i < this.npcs.length; i++) {
+            npcStates[i] = this.npcs[i].saveState();
+        }
+    }
+
+    /**
+     * Save the current state of a level and the entities in it
+     */
+    public static LevelSnapshot capture(Level level, Player player, List<Laser> lasers, List<Spike> spikes,
+            List<Npc> npcs) {
+        return new LevelSnapshot(level, player, lasers, spikes, npcs);
+    }
+
+    /**
+     * Put the saved state back, refilling the entity lists with the entities
+     * that existed when it was saved
+     */
+    public void restore(List<Laser> lasers, List<Spike> spikes, List<Npc> npcs) {
+        if (player != null) {
+            player.restoreState(playerState);
+        }
+
+        lasers.clear();
+        for (int i = 0; i < this.lasers.length; i++) {
+            this.lasers[i].restoreState(laserStates[i]);
+            lasers.add(this.lasers[i]);
+        }
+
+        spikes.clear();
+        for (int i = 0; i < this.spikes.length; i++) {
+            Spike spike = this.spikes[i];
+            if (spikeActive[i] && !spike.isActive()) {
+                // Removed from the hazard layer since, bake it back in
+                level.removeSpike(spike);
+                level.addSpike(spike);
+            }
+            spike.setActive(spikeActive[i]);
+            spikes.add(spike);
+        }
+
+        npcs.clear();
+        for (int i = 0; i < this.npcs.length; i++) {
+            this.npcs[i].restoreState(npcStates[i]);
+            npcs.add(this.npcs[i]);
+        }
+    }
+
+    /**
+     * The level this snapshot was taken in
+     */
+    public Level getLevel() {
+        return level;
+    }
+}
@@ -4,6 +4,7 @@
 public class Main {
     public static void main(String[] args) {
         // Start the game loop
-        new Gameloop().start();
+        Gameloop gameloop = StartupTrace.time("create window", Gameloop::new);
+        gameloop.start();
     }
 }
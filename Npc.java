@@ -1,7 +1,6 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.IOException;
+import java.util.IdentityHashMap;
 
 /**
  * Npc class representing non-player characters in the game
@@ -12,11 +11,10 @@ public class Npc extends Entity {
     private int damage = 0; // damage accumulated (could be replaced with health)
 
     // Animation system for clone NPC
-    private BufferedImage[] idleSprites;
-    private BufferedImage[] walkSprites;
-    private BufferedImage[] squashStretchSprites;
-    private int currentFrame = 0;
-    private int animationTimer = 0;
+    private static AnimationClip idleClip; // Shared by every clone, loaded with the first one
+    private static AnimationClip walkClip;
+    private static AnimationClip squashStretchClip; // Frame 0 = squash, frame 1 = stretch
+    private Animator animator; // Only clones animate
     private static final int IDLE_ANIMATION_SPEED = 10; // frames per sprite change
     private static final int WALK_ANIMATION_SPEED = 8; // frames per sprite change
     private boolean isWalking = false;
@@ -34,6 +32,13 @@ public class Npc extends Entity {
     private int shakeTimer = 0;
     private static final int FAILED_SWAP_DURATION = 30; // 0.5 seconds at 60fps
     private static final double SHAKE_INTENSITY = 3.0; // Side-to-side shake amount
+    private static final int TINT_STEPS = 8; // Number of cached red tint intensities per sprite
+    private final IdentityHashMap<BufferedImage, BufferedImage[]> tintedSpriteCache = new IdentityHashMap<>();
+
+    // Clone transparency, normal and during failed swap (slightly more visible)
+    private static final AlphaComposite CLONE_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f);
+    private static final AlphaComposite FAILED_SWAP_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
+            0.8f);
 
     /**
      * Create a new NPC with position and type ID
@@ -49,8 +54,9 @@ public class Npc extends Entity {
                 this.spritePath = "/Sprites/Clone/Idle/sprite_0.png"; // Default to first idle sprite
                 setSpriteSize(50, 74); // Visual sprite size same as player
                 setHitboxSize(40, 60); // Slightly smaller hitbox than visual for better gameplay
-                // Load animation sprites for clone
-                loadCloneAnimationSprites();
+                // Load animation clips for clone (shared, only the first clone loads them)
+                loadCloneAnimationClips();
+                animator = new Animator();
             }
             default -> {
                 this.spritePath = "/Sprites/thec oin.png";
@@ -64,43 +70,20 @@ public class Npc extends Entity {
     }
 
     /**
-     * Load all animation sprite frames for clone NPC
+     * Load the shared clone animation clips the first time a clone is created
      */
-    private void loadCloneAnimationSprites() {
-        // Load idle animation sprites (sprite_0.png to sprite_3.png)
-        idleSprites = new BufferedImage[4];
-        for (int i = 0; i < 4; i++) {
-            try {
-                idleSprites[i] = ImageIO
-                        .read(getClass().getResourceAsStream("/Sprites/Clone/Idle/sprite_" + i + ".png"));
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("Could not load clone idle sprite " + i + ": " + e.getMessage());
-            }
-        }
-
-        // Load walk animation sprites (sprite_0.png to sprite_5.png)
-        walkSprites = new BufferedImage[6];
-        for (int i = 0; i < 6; i++) {
-            try {
-                walkSprites[i] = ImageIO
-                        .read(getClass().getResourceAsStream("/Sprites/Clone/Walk cycle/sprite_" + i + ".png"));
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("Could not load clone walk sprite " + i + ": " + e.getMessage());
-            }
+    private static void loadCloneAnimationClips() {
+        if (idleClip != null) {
+            return;
         }
 
-        // Load squash and stretch sprites (sprite_0.png = squash, sprite_1.png =
-        // stretch)
-        squashStretchSprites = new BufferedImage[2];
-        for (int i = 0; i < 2; i++) {
-            try {
-                squashStretchSprites[i] = ImageIO
-                        .read(getClass()
-                                .getResourceAsStream("/Sprites/Clone/squash and stretch/sprite_" + i + ".png"));
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("Could not load clone squash/stretch sprite " + i + ": " + e.getMessage());
-            }
-        }
+        // Every frame is baked at the clone's sprite size in all four flip orientations
+        idleClip = AnimationClip.getFlipVariantClip("clone/idle", "/Sprites/Clone/Idle/sprite_%d.png", 4, 50, 74,
+                IDLE_ANIMATION_SPEED);
+        walkClip = AnimationClip.getFlipVariantClip("clone/walk", "/Sprites/Clone/Walk cycle/sprite_%d.png", 6, 50,
+                74, WALK_ANIMATION_SPEED);
+        squashStretchClip = AnimationClip.getFlipVariantClip("clone/squash-stretch",
+                "/Sprites/Clone/squash and stretch/sprite_%d.png", 2, 50, 74, 1);
     }
 
     /**
@@ -117,22 +100,16 @@ public class Npc extends Entity {
         // Squash and stretch take priority over other animations
         if (verticalVelocity >= SQUASH_VELOCITY_THRESHOLD) {
             // Squash when jumping up
-            if (squashStretchSprites[0] != null) {
-                sprite = squashStretchSprites[0]; // sprite_0.png squash
-            }
+            showFrame(squashStretchClip.getFrameVariants(0)); // sprite_0.png squash
             return;
         } else if (verticalVelocity <= STRETCH_VELOCITY_THRESHOLD) {
             // Stretch when falling fast
-            if (squashStretchSprites[1] != null) {
-                sprite = squashStretchSprites[1]; // sprite_1.png stretch
-            }
+            showFrame(squashStretchClip.getFrameVariants(1)); // sprite_1.png stretch
             return;
         }
 
         // Mirror player's walking state
-        boolean playerWalking = Math.abs(player.getVelocity().getX()) > 0.1;
-        boolean wasWalking = isWalking;
-        isWalking = playerWalking;
+        isWalking = Math.abs(player.getVelocity().getX()) > 0.1;
 
         // Mirror player's direction
         hDirection = player.getDirection();
@@ -140,38 +117,88 @@ public class Npc extends Entity {
         // Mirror player's gravity state
         swap = -player.getSwap(); // Inverted since clone is mirrored
 
-        // Reset animation if state changed
-        if (wasWalking != isWalking) {
-            currentFrame = 0;
-            animationTimer = 0;
+        // Switching clips restarts the animation
+        animator.play(isWalking ? walkClip : idleClip);
+        animator.update();
+        showFrame(animator.getFrameVariants());
+    }
+
+    /**
+     * Show an animation frame, keeping the current one if it failed to load
+     */
+    private void showFrame(SpriteAtlas.Region[] variants) {
+        if (variants != null) {
+            setSpriteVariants(variants);
         }
+    }
 
-        // Update animation timer
-        animationTimer++;
+    /**
+     * Get the clone's animation playback state (for snapshots), or null for
+     * NPCs that don't animate
+     */
+    public Animator getAnimator() {
+        return animator;
+    }
 
-        if (isWalking) {
-            // Walking animation
-            if (animationTimer >= WALK_ANIMATION_SPEED) {
-                animationTimer = 0;
-                currentFrame = (currentFrame + 1) % walkSprites.length;
-            }
-            // Use walk sprites
-            if (walkSprites[currentFrame] != null) {
-                sprite = walkSprites[currentFrame];
-            }
-        } else {
-            // Idle animation
-            if (animationTimer >= IDLE_ANIMATION_SPEED) {
-                animationTimer = 0;
-                currentFrame = (currentFrame + 1) % idleSprites.length;
-            }
-            // Use idle sprites
-            if (idleSprites[currentFrame] != null) {
-                sprite = idleSprites[currentFrame];
+    /**
+     * Everything about an NPC that changes during play, for level snapshots
+     */
+    public static class State {
+        private final MotionState motion;
+        private final boolean isWalking;
+        private final int hDirection;
+        private final int swap;
+        private final boolean failedSwapActive;
+        private final int failedSwapDuration;
+        private final double shakeOffsetX;
+        private final int shakeTimer;
+        private final int[] iFrames;
+        private final Animator animator;
+
+        private State(Npc npc) {
+            this.motion = npc.saveMotion();
+            this.isWalking = npc.isWalking;
+            this.hDirection = npc.hDirection;
+            this.swap = npc.swap;
+            this.failedSwapActive = npc.failedSwapActive;
+            this.failedSwapDuration = npc.failedSwapDuration;
+            this.shakeOffsetX = npc.shakeOffsetX;
+            this.shakeTimer = npc.shakeTimer;
+            this.iFrames = npc.iFrames.clone();
+            if (npc.animator != null) {
+                this.animator = new Animator();
+                this.animator.copyFrom(npc.animator);
+            } else {
+                this.animator = null;
             }
         }
     }
 
+    /**
+     * Save the NPC's state
+     */
+    public State saveState() {
+        return new State(this);
+    }
+
+    /**
+     * Put back state saved with saveState
+     */
+    public void restoreState(State saved) {
+        restoreMotion(saved.motion);
+        isWalking = saved.isWalking;
+        hDirection = saved.hDirection;
+        swap = saved.swap;
+        failedSwapActive = saved.failedSwapActive;
+        failedSwapDuration = saved.failedSwapDuration;
+        shakeOffsetX = saved.shakeOffsetX;
+        shakeTimer = saved.shakeTimer;
+        System.arraycopy(saved.iFrames, 0, iFrames, 0, iFrames.length);
+        if (animator != null && saved.animator != null) {
+            animator.copyFrom(saved.animator);
+        }
+    }
+
     @Override
     public void update() {
         switch (ID) {
@@ -266,41 +293,45 @@ public class Npc extends Entity {
             if (flipVertical) {
                 finalDrawY = drawY + spriteRenderHeight; // Move draw point to bottom edge
                 finalHeight = -spriteRenderHeight; // Negative height flips vertically
-            } // Apply shake offset for failed swap effect
+            }
+
+            // Pre-flipped frames are drawn unflipped at their baked size, a plain copy
+            BufferedImage source = sprite;
+            SpriteAtlas.Region sourceRegion = spriteRegion;
+            SpriteAtlas.Region flipped = getFlippedRegion(flipHorizontal, flipVertical);
+            if (flipped != null) {
+                source = flipped.getImage();
+                sourceRegion = flipped;
+                finalDrawX = drawX;
+                finalDrawY = drawY;
+                finalWidth = flipped.getWidth();
+                finalHeight = flipped.getHeight();
+            }
+
+            // Apply shake offset for failed swap effect
             if (failedSwapActive) {
                 finalDrawX += (int) shakeOffsetX;
             }
 
             // Apply transparency to make clone more transparent
             AlphaComposite originalComposite = (AlphaComposite) g2d.getComposite();
-            float opacity = failedSwapActive ? 0.8f : 0.7f; // Slightly more visible during failed swap
-            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
+            g2d.setComposite(failedSwapActive ? FAILED_SWAP_COMPOSITE : CLONE_COMPOSITE);
 
             // Apply red tint to sprite for failed swap effect
             if (failedSwapActive) {
-                // Calculate tint intensity based on remaining duration
-                float tintIntensity = (float) failedSwapDuration / FAILED_SWAP_DURATION;
-
-                // Create a red-tinted version of the sprite
-                BufferedImage tintedSprite = new BufferedImage(sprite.getWidth(), sprite.getHeight(),
-                        BufferedImage.TYPE_INT_ARGB);
-                Graphics2D tintGraphics = tintedSprite.createGraphics();
-
-                // Draw the original sprite
-                tintGraphics.drawImage(sprite, 0, 0, null);
-
-                // Apply red tint using multiply blend mode
-                tintGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_ATOP, tintIntensity * 0.6f));
-                tintGraphics.setColor(Color.RED);
-                tintGraphics.fillRect(0, 0, sprite.getWidth(), sprite.getHeight());
-
-                tintGraphics.dispose();
+                // Pick the cached tint step for the remaining duration
+                int tintStep = (int) Math.ceil((double) failedSwapDuration * TINT_STEPS / FAILED_SWAP_DURATION);
+                BufferedImage tintedSprite = getTintedSprite(source, tintStep);
 
                 // Draw the tinted sprite
                 g2d.drawImage(tintedSprite, finalDrawX, finalDrawY, finalWidth, finalHeight, null);
             } else {
                 // Draw the normal sprite with calculated flipping
-                g2d.drawImage(sprite, finalDrawX, finalDrawY, finalWidth, finalHeight, null);
+                if (sourceRegion != null) {
+                    sourceRegion.draw(g2d, finalDrawX, finalDrawY, finalWidth, finalHeight);
+                } else {
+                    g2d.drawImage(source, finalDrawX, finalDrawY, finalWidth, finalHeight, null);
+                }
             }
 
             // Restore original composite
@@ -311,6 +342,91 @@ public class Npc extends Entity {
         }
     }
 
+    /**
+     * Record the NPC's draw calls. The clone becomes one image command with its
+     * transparency composite, so all clone-like draws batch together.
+     */
+    @Override
+    public void submit(RenderQueue queue, int layer) {
+        if (ID != 1 || sprite == null) {
+            submitSprite(queue, layer);
+            return;
+        }
+
+        int drawX = (int) (x - spriteWidth / 2);
+        int drawY = (int) (y - spriteHeight / 2);
+        int spriteRenderWidth = (int) spriteWidth;
+        int spriteRenderHeight = (int) spriteHeight;
+
+        // Negative sizes flip horizontally (facing left) and vertically (inverted
+        // gravity), same as draw, unless the frame has pre-flipped variants
+        int finalDrawX = hDirection == -1 ? drawX + spriteRenderWidth : drawX;
+        int finalDrawY = swap == -1 ? drawY + spriteRenderHeight : drawY;
+        int finalWidth = hDirection == -1 ? -spriteRenderWidth : spriteRenderWidth;
+        int finalHeight = swap == -1 ? -spriteRenderHeight : spriteRenderHeight;
+
+        // Pre-flipped frames are drawn unflipped at their baked size, a plain copy
+        BufferedImage source = sprite;
+        SpriteAtlas.Region sourceRegion = spriteRegion;
+        SpriteAtlas.Region flipped = getFlippedRegion(hDirection == -1, swap == -1);
+        if (flipped != null) {
+            source = flipped.getImage();
+            sourceRegion = flipped;
+            finalDrawX = drawX;
+            finalDrawY = drawY;
+            finalWidth = flipped.getWidth();
+            finalHeight = flipped.getHeight();
+        }
+
+        if (failedSwapActive) {
+            finalDrawX += (int) shakeOffsetX;
+            int tintStep = (int) Math.ceil((double) failedSwapDuration * TINT_STEPS / FAILED_SWAP_DURATION);
+            queue.drawImage(layer, 0, getTintedSprite(source, tintStep), finalDrawX, finalDrawY, finalWidth,
+                    finalHeight, FAILED_SWAP_COMPOSITE);
+        } else if (sourceRegion != null) {
+            queue.drawRegion(layer, 0, sourceRegion, finalDrawX, finalDrawY, finalWidth, finalHeight,
+                    CLONE_COMPOSITE);
+        } else {
+            queue.drawImage(layer, 0, source, finalDrawX, finalDrawY, finalWidth, finalHeight, CLONE_COMPOSITE);
+        }
+    }
+
+    /**
+     * Get a red-tinted copy of a sprite, building it the first time each
+     * sprite and tint step is used
+     */
+    private BufferedImage getTintedSprite(BufferedImage original, int tintStep) {
+        tintStep = Math.max(1, Math.min(TINT_STEPS, tintStep));
+
+        BufferedImage[] variants = tintedSpriteCache.get(original);
+        if (variants == null) {
+            variants = new BufferedImage[TINT_STEPS + 1];
+            tintedSpriteCache.put(original, variants);
+        }
+
+        BufferedImage tintedSprite = variants[tintStep];
+        if (tintedSprite == null) {
+            float tintIntensity = (float) tintStep / TINT_STEPS;
+
+            // Create a red-tinted version of the sprite
+            tintedSprite = new BufferedImage(original.getWidth(), original.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D tintGraphics = tintedSprite.createGraphics();
+
+            // Draw the original sprite
+            tintGraphics.drawImage(original, 0, 0, null);
+
+            // Apply red tint only over the sprite's own pixels
+            tintGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_ATOP, tintIntensity * 0.6f));
+            tintGraphics.setColor(Color.RED);
+            tintGraphics.fillRect(0, 0, original.getWidth(), original.getHeight());
+
+            tintGraphics.dispose();
+            variants[tintStep] = tintedSprite;
+        }
+
+        return tintedSprite;
+    }
+
     // Getters
     public int getID() {
         return ID;
@@ -0,0 +1,151 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Screen-sized overlay that small effects (particles, splashes) write
+ * premultiplied pixels into directly. The touched area is composited onto the
+ * world in a single drawImage, so the cost doesn't grow with draw call count.
+ */
+public class PixelOverlay {
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+
+    // World position of the overlay's top-left pixel for the current frame
+    private int originX;
+    private int originY;
+
+    // Bounding box of the pixels written this frame (overlay coordinates)
+    private int dirtyLeft;
+    private int dirtyTop;
+    private int dirtyRight;
+    private int dirtyBottom;
+
+    /**
+     * Create an overlay of the given size in pixels
+     */
+    public PixelOverlay(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        resetDirty();
+    }
+
+    /**
+     * Start a new frame with the overlay's top-left corner at the given world
+     * position. Pixels outside the overlay are dropped.
+     */
+    public void begin(int worldLeft, int worldTop) {
+        clear();
+        this.originX = worldLeft;
+        this.originY = worldTop;
+    }
+
+    /**
+     * Blend a solid rectangle (world coordinates) into the overlay
+     *
+     * @param red   0-255
+     * @param green 0-255
+     * @param blue  0-255
+     * @param alpha 0-255
+     */
+    public void fillRect(int worldX, int worldY, int rectWidth, int rectHeight, int red, int green, int blue,
+            int alpha) {
+        if (alpha <= 0)
+            return;
+        alpha = Math.min(255, alpha);
+
+        int left = Math.max(0, worldX - originX);
+        int top = Math.max(0, worldY - originY);
+        int right = Math.min(width, worldX - originX + rectWidth);
+        int bottom = Math.min(height, worldY - originY + rectHeight);
+        if (left >= right || top >= bottom)
+            return;
+
+        // Premultiply the source once
+        int sr = red * alpha / 255;
+        int sg = green * alpha / 255;
+        int sb = blue * alpha / 255;
+        int inverse = 255 - alpha;
+
+        for (int row = top; row < bottom; row++) {
+            int index = row * width + left;
+            for (int column = left; column < right; column++, index++) {
+                int dst = pixels[index];
+                if (dst == 0) {
+                    pixels[index] = (alpha << 24) | (sr << 16) | (sg << 8) | sb;
+                } else {
+                    // Source over destination, both premultiplied
+                    int a = alpha + ((dst >>> 24) * inverse) / 255;
+                    int r = sr + (((dst >> 16) & 0xFF) * inverse) / 255;
+                    int g = sg + (((dst >> 8) & 0xFF) * inverse) / 255;
+                    int b = sb + ((dst & 0xFF) * inverse) / 255;
+                    pixels[index] = (a << 24) | (r << 16) | (g << 8) | b;
+                }
+            }
+        }
+
+        dirtyLeft = Math.min(dirtyLeft, left);
+        dirtyTop = Math.min(dirtyTop, top);
+        dirtyRight = Math.max(dirtyRight, right);
+        dirtyBottom = Math.max(dirtyBottom, bottom);
+    }
+
+    /**
+     * Blend a solid circle (world coordinates) into the overlay, one row span
+     * at a time
+     */
+    public void fillCircle(int centerX, int centerY, int diameter, int red, int green, int blue, int alpha) {
+        if (diameter <= 0)
+            return;
+
+        double radius = diameter / 2.0;
+        int top = centerY - diameter / 2;
+        for (int row = 0; row < diameter; row++) {
+            // Half-width of the circle through the middle of this row
+            double dy = row + 0.5 - radius;
+            int halfWidth = (int) Math.round(Math.sqrt(Math.max(0, radius * radius - dy * dy)));
+            if (halfWidth > 0) {
+                fillRect(centerX - halfWidth, top + row, halfWidth * 2, 1, red, green, blue, alpha);
+            }
+        }
+    }
+
+    /**
+     * Record everything written this frame as one image command. The pixels stay
+     * untouched until the next begin, so the queue can be flushed later.
+     */
+    public void submit(RenderQueue queue, int layer, int z) {
+        if (dirtyLeft >= dirtyRight || dirtyTop >= dirtyBottom)
+            return;
+
+        int worldLeft = originX + dirtyLeft;
+        int worldTop = originY + dirtyTop;
+        queue.drawImageRegion(layer, z, image, worldLeft, worldTop, worldLeft + (dirtyRight - dirtyLeft),
+                worldTop + (dirtyBottom - dirtyTop), dirtyLeft, dirtyTop, dirtyRight, dirtyBottom, null);
+    }
+
+    /**
+     * Clear only the area that was touched last frame
+     */
+    private void clear() {
+        for (int row = dirtyTop; row < dirtyBottom; row++) {
+            Arrays.fill(pixels, row * width + dirtyLeft, row * width + dirtyRight, 0);
+        }
+        resetDirty();
+    }
+
+    /**
+     * Mark the overlay as empty
+     */
+    private void resetDirty() {
+        dirtyLeft = width;
+        dirtyTop = height;
+        dirtyRight = 0;
+        dirtyBottom = 0;
+    }
+}
@@ -1,18 +1,18 @@
 import java.awt.Color;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 import java.util.ArrayList;
-import javax.imageio.ImageIO;
 
 /**
- * Handles generation of platform tiles
+ * Handles generation of platform tiles. Compiled levels bake in the tile and
+ * collision rules here, so bump CompiledLevel.GENERATOR_VERSION when changing
+ * them.
  */
 public class PlatformGenerator {
     private static BufferedImage[] platformSprites;
 
     // Cache the loaded sprites
     static {
-        loadPlatformSprites();
+        StartupTrace.run("PlatformGenerator static init", PlatformGenerator::loadPlatformSprites);
     }
 
     /**
@@ -21,18 +21,35 @@ public class PlatformGenerator {
     private static void loadPlatformSprites() {
         platformSprites = new BufferedImage[10]; // 10 platform sprites
 
-        try {
-            for (int i = 0; i < 10; i++) {
-                // Use zero-based indexing to match sprite file names
-                String path = String.format("/Sprites/Platforms (1)/sprite_0%d.png", i);
-                platformSprites[i] = ImageIO.read(PlatformGenerator.class.getResourceAsStream(path));
-                System.out.println("Loaded platform sprite: " + path);
+        for (int i = 0; i < 10; i++) {
+            // Use zero-based indexing to match sprite file names
+            String path = String.format("/Sprites/Platforms (1)/sprite_0%d.png", i);
+            platformSprites[i] = SpriteAtlas.getInstance().getImage(path);
+            if (platformSprites[i] == null) {
+                System.err.println("Error loading platform sprite: " + path);
             }
-        } catch (IOException | IllegalArgumentException e) {
-            System.err.println("Error loading platform sprites: " + e.getMessage());
         }
     }
 
+    /**
+     * Sprite index for a platform ID from generatePlatformConfig
+     */
+    public static int getSpriteIndex(int platformId) {
+        // Convert from 1-based algorithm IDs to 0-based sprite indices
+        int spriteIndex = platformId - 1;
+        if (platformId == 10) {
+            spriteIndex = 8; // Convert temp inner (10) to sprite 8
+        }
+        return Math.max(0, Math.min(9, spriteIndex));
+    }
+
+    /**
+     * Resource path of a platform sprite
+     */
+    public static String getSpritePath(int spriteIndex) {
+        return String.format("/Sprites/Platforms (1)/sprite_0%d.png", spriteIndex);
+    }
+
     /**
      * Generate platform configuration from a binary array
      * 
@@ -40,121 +57,95 @@ public class PlatformGenerator {
      * @return 3D array containing [platformID, rotationAngle] for each position
      */
     public static int[][][] generatePlatformConfig(boolean[][] arr) {
-        int n = arr.length;
-        int m = arr[0].length;
-        boolean arr2[][] = new boolean[n + 2][m + 2];
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < m; j++) {
-                arr2[i + 1][j + 1] = arr[i][j];
-            }
-        }
+        return generatePlatformConfig(TileBitmap.fromArray(arr), 0);
+    }
+
+    /**
+     * Generate platform configuration from a tile bitmap. Tiles are classified
+     * 64 at a time: each neighbor of a word's tiles is a shifted word, so
+     * corners and edges are found with a few ANDs per word rather than
+     * lookups per tile.
+     * 
+     * Edge and detail variants are picked from a hash of the seed and the
+     * tile's position, so a layout tiles the same way every time for the same
+     * seed.
+     * 
+     * @param layout solid and empty tiles
+     * @param seed   variant seed (see GameUtils.hash)
+     * @return 3D array containing [platformID, rotationAngle] for each position
+     */
+    public static int[][][] generatePlatformConfig(TileBitmap layout, long seed) {
+        int n = layout.getRows();
+        int m = layout.getColumns();
+        int words = layout.getWordsPerRow();
         int response[][][] = new int[n][m][2];
-        for (int i = 1; i <= n; i++) {
-            for (int j = 1; j <= m; j++) {
-                if (!arr2[i][j])
-                    continue;
-                boolean a = arr2[i - 1][j];
-                boolean b = arr2[i][j + 1];
-                boolean c = arr2[i + 1][j];
-                boolean d = arr2[i][j - 1];
-                // corner block
-                if (!a && !d) {
-                    response[i - 1][j - 1][0] = 1;
-                    response[i - 1][j - 1][1] = 0;
-                    continue;
-                }
-                if (a == false && b == false) {
-                    response[i - 1][j - 1][0] = 1;
-                    response[i - 1][j - 1][1] = 90;
-                    continue;
-                }
-                if (b == false && c == false) {
-                    response[i - 1][j - 1][0] = 1;
-                    response[i - 1][j - 1][1] = 180;
-                    continue;
-                }
-                if (c == false && d == false) {
-                    response[i - 1][j - 1][0] = 1;
-                    response[i - 1][j - 1][1] = 270;
-                    continue;
-                }
-                // edge block
-                if (a == false) {
-                    response[i - 1][j - 1][0] = (int) (3 * Math.random()) + 2;
-                    response[i - 1][j - 1][1] = 0;
-                    continue;
-                }
-                if (b == false) {
-                    response[i - 1][j - 1][0] = (int) (3 * Math.random()) + 2;
-                    response[i - 1][j - 1][1] = 90;
-                    continue;
-                }
-                if (c == false) {
-                    response[i - 1][j - 1][0] = (int) (3 * Math.random()) + 2;
-                    response[i - 1][j - 1][1] = 180;
-                    continue;
-                }
-                if (d == false) {
-                    response[i - 1][j - 1][0] = (int) (3 * Math.random()) + 2;
-                    response[i - 1][j - 1][1] = 270;
-                    continue;
-                }
-                // inwards corner block
-                if (arr2[i - 1][j - 1] == false) {
-                    response[i - 1][j - 1][0] = 5;
-                    response[i - 1][j - 1][1] = 0;
-                    continue;
-                }
-                if (arr2[i - 1][j + 1] == false) {
-                    response[i - 1][j - 1][0] = 5;
-                    response[i - 1][j - 1][1] = 90;
-                    continue;
-                }
-                if (arr2[i + 1][j + 1] == false) {
-                    response[i - 1][j - 1][0] = 5;
-                    response[i - 1][j - 1][1] = 180;
-                    continue;
-                }
-                if (arr2[i + 1][j - 1] == false) {
-                    response[i - 1][j - 1][0] = 5;
-                    response[i - 1][j - 1][1] = 270;
-                    continue;
-                }
-                response[i - 1][j - 1][0] = 10;
-                response[i - 1][j - 1][1] = 0;
-            }
-        } // inner blocks
+
+        // Tiles next to empty space (IDs 1-5) and the rest (inner blocks)
+        TileBitmap outer = new TileBitmap(n, m);
+        TileBitmap inner = new TileBitmap(n, m);
+
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j < m; j++) {
-                if (response[i][j][0] != 10)
+            for (int w = 0; w < words; w++) {
+                long remaining = layout.getWord(i, w);
+                if (remaining == 0) {
                     continue;
-                boolean special = false;
-                for (int I = -1; I <= 1; I++) {
-                    for (int k = -1; k <= 1; k++) {
-                        // Add bounds checking to prevent array out of bounds
-                        int newI = i + I;
-                        int newJ = j + k;
-                        if (newI >= 0 && newI < n && newJ >= 0 && newJ < m) {
-                            if (response[newI][newJ][0] >= 1 && response[newI][newJ][0] <= 5) {
-                                special = true;
-                                break;
-                            }
+                }
+                long a = layout.getWord(i - 1, w); // Above
+                long b = layout.rightNeighbors(i, w); // Right
+                long c = layout.getWord(i + 1, w); // Below
+                long d = layout.leftNeighbors(i, w); // Left
+
+                // Rules in priority order: corner blocks, edge blocks, then
+                // inwards corner blocks (empty diagonal), each at 0, 90, 180, 270
+                long[] rules = {
+                        ~a & ~d, ~a & ~b, ~b & ~c, ~c & ~d,
+                        ~a, ~b, ~c, ~d,
+                        ~layout.leftNeighbors(i - 1, w), ~layout.rightNeighbors(i - 1, w),
+                        ~layout.rightNeighbors(i + 1, w), ~layout.leftNeighbors(i + 1, w) };
+                long matchedAny = 0;
+                for (int r = 0; r < rules.length && remaining != 0; r++) {
+                    long matched = remaining & rules[r];
+                    remaining &= ~matched;
+                    matchedAny |= matched;
+                    int rotation = 90 * (r % 4);
+                    for (long tiles = matched; tiles != 0; tiles &= tiles - 1) {
+                        int j = (w << 6) + Long.numberOfTrailingZeros(tiles);
+                        if (r < 4) {
+                            response[i][j][0] = 1; // corner block
+                        } else if (r < 8) {
+                            response[i][j][0] = (int) Math.floorMod(tileHash(seed, i, j), 3L) + 2; // edge block
+                        } else {
+                            response[i][j][0] = 5; // inwards corner block
                         }
+                        response[i][j][1] = rotation;
                     }
-                    if (special)
-                        break;
-                }
-                if (special) {
-                    response[i][j][0] = (int) (4 * Math.random()) + 6;
-                    response[i][j][1] = 90 * (int) (4 * Math.random());
                 }
+                outer.setWord(i, w, matchedAny);
+                inner.setWord(i, w, remaining);
             }
         }
 
+        // inner blocks: those with an outer block among their 8 neighbors get
+        // a random detail sprite, the rest the plain inner sprite
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j < m; j++) {
-                if (response[i][j][0] == 10) {
-                    response[i][j][0] = 11; // Use sprite 9 for inner blocks
+            for (int w = 0; w < words; w++) {
+                long innerTiles = inner.getWord(i, w);
+                if (innerTiles == 0) {
+                    continue;
+                }
+                long nearOuter = 0;
+                for (int r = i - 1; r <= i + 1; r++) {
+                    nearOuter |= outer.getWord(r, w) | outer.leftNeighbors(r, w) | outer.rightNeighbors(r, w);
+                }
+                for (long tiles = innerTiles; tiles != 0; tiles &= tiles - 1) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(tiles);
+                    if ((nearOuter & (1L << j)) != 0) {
+                        long variant = tileHash(seed, i, j);
+                        response[i][j][0] = (int) (variant & 3) + 6;
+                        response[i][j][1] = 90 * (int) ((variant >>> 2) & 3);
+                    } else {
+                        response[i][j][0] = 11; // Use sprite 9 for inner blocks
+                    }
                 }
             }
         }
@@ -162,6 +153,13 @@ public class PlatformGenerator {
         return response;
     }
 
+    /**
+     * Variant choice for one tile of a seeded layout
+     */
+    private static long tileHash(long seed, int row, int column) {
+        return GameUtils.hash(GameUtils.hash(seed, row), column);
+    }
+
     /**
      * Generate platforms from a 2D layout array
      * This is the primary method for creating platform layouts.
@@ -413,38 +411,44 @@ public class PlatformGenerator {
      */
     public static ArrayList<PlatformSpriteData> generateVisualSpritesWithOffset(boolean[][] layout, int tileSize,
             double offsetX, double offsetY) {
+        if (layout == null || layout.length == 0 || layout[0].length == 0) {
+            System.err.println("Invalid layout provided!");
+            return new ArrayList<>();
+        }
+        return generateVisualSpritesWithOffset(TileBitmap.fromArray(layout), tileSize, offsetX, offsetY, 0);
+    }
+
+    /**
+     * Generate visual sprite data with offset
+     * 
+     * @param layout   solid and empty tiles
+     * @param tileSize Size of each platform tile in pixels
+     * @param offsetX  X offset to apply to all sprites
+     * @param offsetY  Y offset to apply to all sprites
+     * @param seed     variant seed (see generatePlatformConfig)
+     * @return List of PlatformSpriteData representing visual sprites
+     */
+    public static ArrayList<PlatformSpriteData> generateVisualSpritesWithOffset(TileBitmap layout, int tileSize,
+            double offsetX, double offsetY, long seed) {
         ArrayList<PlatformSpriteData> sprites = new ArrayList<>();
 
-        if (layout == null || layout.length == 0 || layout[0].length == 0) {
+        if (layout == null || layout.getRows() == 0 || layout.getColumns() == 0) {
             System.err.println("Invalid layout provided!");
             return sprites;
         }
 
-        int height = layout.length;
-        int width = layout[0].length;
+        int height = layout.getRows();
 
         // Generate platform configuration using the algorithm
-        int[][][] platformConfig = generatePlatformConfig(layout); // Create sprite data for each platform
+        int[][][] platformConfig = generatePlatformConfig(layout, seed); // Create sprite data for each platform
         for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                if (!layout[y][x]) {
-                    continue; // Skip empty spaces
-                }
-
+            // Visit the solid tiles only
+            for (int x = layout.nextSet(y, 0); x >= 0; x = layout.nextSet(y, x + 1)) {
                 int platformId = platformConfig[y][x][0];
                 int rotation = platformConfig[y][x][1];
 
-                // Convert from 1-based algorithm IDs to 0-based sprite indices
-                int spriteIndex = platformId - 1;
-                if (platformId == 10) {
-                    spriteIndex = 8; // Convert temp inner (10) to sprite 8
-                }
-
-                // Ensure spriteIndex is within valid range (0-9)
-                spriteIndex = Math.max(0, Math.min(9, spriteIndex));
-
                 // Format the sprite path
-                String spritePath = String.format("/Sprites/Platforms (1)/sprite_0%d.png", spriteIndex);
+                String spritePath = getSpritePath(getSpriteIndex(platformId));
 
                 // Convert tile coordinates to world coordinates with offset
                 double worldX = (x * tileSize) + offsetX;
@@ -559,33 +563,49 @@ public class PlatformGenerator {
      */
     public static ArrayList<Wall> generateCollisionPlatformsWithOffset(boolean[][] layout, int tileSize,
             double offsetX, double offsetY) {
+        if (layout == null || layout.length == 0 || layout[0].length == 0) {
+            System.err.println("Invalid layout provided!");
+            return new ArrayList<>();
+        }
+        return generateCollisionPlatformsWithOffset(TileBitmap.fromArray(layout), tileSize, offsetX, offsetY);
+    }
+
+    /**
+     * Generate optimized collision platforms with offset by grouping adjacent tiles
+     * into larger rectangles. Uses fast scanning algorithm for better performance.
+     * 
+     * @param layout   solid and empty tiles
+     * @param tileSize Size of each platform tile in pixels
+     * @param offsetX  X offset to apply to all platforms
+     * @param offsetY  Y offset to apply to all platforms
+     * @return List of Wall objects representing optimized collision platforms
+     */
+    public static ArrayList<Wall> generateCollisionPlatformsWithOffset(TileBitmap layout, int tileSize,
+            double offsetX, double offsetY) {
         ArrayList<Wall> walls = new ArrayList<>();
 
-        if (layout == null || layout.length == 0 || layout[0].length == 0) {
+        if (layout == null || layout.getRows() == 0 || layout.getColumns() == 0) {
             System.err.println("Invalid layout provided!");
             return walls;
         }
 
-        int height = layout.length;
-        int width = layout[0].length;
+        int height = layout.getRows();
+        int width = layout.getColumns();
 
         // Use faster algorithm for larger layouts
         if (width * height > 1000) {
             return generateCollisionPlatformsOptimized(layout, tileSize, offsetX, offsetY);
         }
 
-        // Create a copy of the layout to mark processed tiles
-        boolean[][] processed = new boolean[height][width];
+        // Solid tiles not yet covered by a rectangle
+        TileBitmap remaining = layout.copy();
 
         // Process each unprocessed solid tile
         for (int startY = 0; startY < height; startY++) {
-            for (int startX = 0; startX < width; startX++) {
-                if (!layout[startY][startX] || processed[startY][startX]) {
-                    continue; // Skip empty spaces or already processed tiles
-                }
-
+            for (int startX = remaining.nextSet(startY, 0); startX >= 0; startX = remaining.nextSet(startY,
+                    startX + 1)) {
                 // Find the largest rectangle starting from this position
-                Rectangle rect = findLargestRectangle(layout, processed, startX, startY, width, height);
+                Rectangle rect = findLargestRectangle(remaining, startX, startY, width, height);
 
                 if (rect != null) {
                     // Convert tile coordinates to world coordinates with offset
@@ -600,56 +620,40 @@ public class PlatformGenerator {
                     walls.add(optimizedWall);
 
                     // Mark all tiles in this rectangle as processed
-                    markRectangle(processed, rect);
+                    markRectangle(remaining, rect);
                 }
             }
         }
 
         System.out.println("Generated " + walls.size() + " optimized collision platforms (grouped from "
-                + countSolidTiles(layout) + " individual tiles)");
+                + layout.count() + " individual tiles)");
         return walls;
     }
 
     /**
      * Highly optimized collision platform generation for large layouts
-     * Uses scan-line algorithm with connected component analysis
+     * Uses scan-line algorithm over the bitmap's words: runs are found with
+     * bit scans and a strip extends down while its whole range is still set
      */
-    private static ArrayList<Wall> generateCollisionPlatformsOptimized(boolean[][] layout, int tileSize,
+    private static ArrayList<Wall> generateCollisionPlatformsOptimized(TileBitmap layout, int tileSize,
             double offsetX, double offsetY) {
         ArrayList<Wall> walls = new ArrayList<>();
-        int height = layout.length;
-        int width = layout[0].length;
+        int height = layout.getRows();
 
-        boolean[][] processed = new boolean[height][width];
+        // Solid tiles not yet covered by a rectangle
+        TileBitmap remaining = layout.copy();
 
         // Use scan-line algorithm to find rectangular regions efficiently
         for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                if (!layout[y][x] || processed[y][x]) {
-                    continue;
-                }
-
+            int x = remaining.nextSet(y, 0);
+            while (x >= 0) {
                 // Find horizontal extent
-                int endX = x;
-                while (endX < width && layout[y][endX] && !processed[y][endX]) {
-                    endX++;
-                }
+                int endX = remaining.nextClear(y, x);
 
                 // Find vertical extent for this horizontal strip
                 int endY = y + 1;
-                boolean canExtendVertically = true;
-
-                while (endY < height && canExtendVertically) {
-                    // Check if entire horizontal strip can be extended down
-                    for (int checkX = x; checkX < endX; checkX++) {
-                        if (!layout[endY][checkX] || processed[endY][checkX]) {
-                            canExtendVertically = false;
-                            break;
-                        }
-                    }
-                    if (canExtendVertically) {
-                        endY++;
-                    }
+                while (endY < height && remaining.isRangeSet(endY, x, endX)) {
+                    endY++;
                 }
 
                 // Create rectangle for this region
@@ -667,16 +671,16 @@ public class PlatformGenerator {
 
                 // Mark this rectangle as processed
                 for (int markY = y; markY < endY; markY++) {
-                    for (int markX = x; markX < endX; markX++) {
-                        processed[markY][markX] = true;
-                    }
+                    remaining.clearRange(markY, x, endX);
                 }
+
+                x = remaining.nextSet(y, endX);
             }
         }
 
         System.out.println("Generated " + walls.size()
                 + " highly optimized collision platforms (scan-line algorithm, grouped from "
-                + countSolidTiles(layout) + " individual tiles)");
+                + layout.count() + " individual tiles)");
         return walls;
     }
 
@@ -684,8 +688,7 @@ public class PlatformGenerator {
      * Find the largest rectangle of solid tiles
      * https://www.geeksforgeeks.org/largest-rectangular-area-in-a-histogram-using-stack/ reference
      * 
-     * @param layout    2D layout array
-     * @param processed 2D array tracking which tiles are already processed
+     * @param remaining solid tiles not yet covered by a rectangle
      * @param startX    Starting X coordinate
      * @param startY    Starting Y coordinate
      * @param width     Total width of the layout
@@ -693,7 +696,7 @@ public class PlatformGenerator {
      * @return Rectangle representing the largest solid rectangle found, or null if
      *         none
      */
-    private static Rectangle findLargestRectangle(boolean[][] layout, boolean[][] processed,
+    private static Rectangle findLargestRectangle(TileBitmap remaining,
             int startX, int startY, int width, int height) { // O(r*c) tc
         // Build height histogram for each row
         int[] heights = new int[width - startX];
@@ -704,7 +707,7 @@ public class PlatformGenerator {
             // Update histogram heights for current row
             for (int x = startX; x < width; x++) {
                 int idx = x - startX;
-                if (layout[y][x] && !processed[y][x]) {
+                if (remaining.get(y, x)) {
                     heights[idx]++;
                 } else {
                     heights[idx] = 0;
@@ -757,33 +760,13 @@ public class PlatformGenerator {
     /**
      * Mark all tiles in a rectangle as processed
      * 
-     * @param processed 2D array tracking processed tiles
+     * @param remaining solid tiles not yet covered by a rectangle
      * @param rect      Rectangle to mark as processed
      */
-    private static void markRectangle(boolean[][] processed, Rectangle rect) {
+    private static void markRectangle(TileBitmap remaining, Rectangle rect) {
         for (int y = rect.y; y < rect.y + rect.height; y++) {
-            for (int x = rect.x; x < rect.x + rect.width; x++) {
-                processed[y][x] = true;
-            }
-        }
-    }
-
-    /**
-     * Count the total number of solid tiles in a layout
-     * 
-     * @param layout 2D layout array
-     * @return Number of solid (true) tiles
-     */
-    private static int countSolidTiles(boolean[][] layout) {
-        int count = 0;
-        for (int y = 0; y < layout.length; y++) {
-            for (int x = 0; x < layout[y].length; x++) {
-                if (layout[y][x]) {
-                    count++;
-                }
-            }
+            remaining.clearRange(y, rect.x, rect.x + rect.width);
         }
-        return count;
     }
 
     /**
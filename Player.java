@@ -1,8 +1,7 @@
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Player class representing the user-controlled character
@@ -35,11 +34,10 @@ public class Player extends Entity {
     // Combat
     private int[] cooldown = new int[99]; // Cooldowns for attacks
     private boolean[] shot = new boolean[99]; // Track button presses for attacks // Animation system
-    private BufferedImage[] idleSprites;
-    private BufferedImage[] walkSprites;
-    private BufferedImage[] squashStretchSprites;
-    private int currentFrame = 0;
-    private int animationTimer = 0;
+    private static AnimationClip idleClip; // Shared by every player, loaded with the first one
+    private static AnimationClip walkClip;
+    private static AnimationClip squashStretchClip; // Frame 0 = squash, frame 1 = stretch
+    private final Animator animator = new Animator();
     private static final int IDLE_ANIMATION_SPEED = 10; // frames per sprite change
     private static final int WALK_ANIMATION_SPEED = 8; // frames per sprite change
     private boolean isWalking = false;
@@ -60,48 +58,25 @@ public class Player extends Entity {
         // Ensure player always starts with normal gravity orientation
         swap = 1;
 
-        // Load animation sprites
-        loadAnimationSprites();
+        // Load animation clips (shared, only the first player loads them)
+        loadAnimationClips();
     }
 
     /**
-     * Load all animation sprite frames
+     * Load the shared animation clips the first time a player is created
      */
-    private void loadAnimationSprites() {
-        // Load idle animation sprites (sprite_0.png to sprite_3.png)
-        idleSprites = new BufferedImage[4];
-        for (int i = 0; i < 4; i++) {
-            try {
-                idleSprites[i] = ImageIO
-                        .read(getClass().getResourceAsStream("/Sprites/Character/Idle/sprite_" + i + ".png"));
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("Could not load idle sprite " + i + ": " + e.getMessage());
-            }
-        }
-
-        // Load walk animation sprites (sprite_0.png to sprite_5.png)
-        walkSprites = new BufferedImage[6];
-        for (int i = 0; i < 6; i++) {
-            try {
-                walkSprites[i] = ImageIO
-                        .read(getClass().getResourceAsStream("/Sprites/Character/Walk cycle/sprite_" + i + ".png"));
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("Could not load walk sprite " + i + ": " + e.getMessage());
-            }
+    private static void loadAnimationClips() {
+        if (idleClip != null) {
+            return;
         }
 
-        // Load squash and stretch sprites (sprite_0.png = squash, sprite_1.png =
-        // stretch)
-        squashStretchSprites = new BufferedImage[2];
-        for (int i = 0; i < 2; i++) {
-            try {
-                squashStretchSprites[i] = ImageIO
-                        .read(getClass()
-                                .getResourceAsStream("/Sprites/Character/squash and stretch/sprite_" + i + ".png"));
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("Could not load squash/stretch sprite " + i + ": " + e.getMessage());
-            }
-        }
+        // Every frame is baked at the hitbox size in all four flip orientations
+        idleClip = AnimationClip.getFlipVariantClip("player/idle", "/Sprites/Character/Idle/sprite_%d.png", 4, 50, 75,
+                IDLE_ANIMATION_SPEED);
+        walkClip = AnimationClip.getFlipVariantClip("player/walk", "/Sprites/Character/Walk cycle/sprite_%d.png", 6,
+                50, 75, WALK_ANIMATION_SPEED);
+        squashStretchClip = AnimationClip.getFlipVariantClip("player/squash-stretch",
+                "/Sprites/Character/squash and stretch/sprite_%d.png", 2, 50, 75, 1);
     }
 
     /**
@@ -121,57 +96,142 @@ public class Player extends Entity {
         }
         if (verticalVelocity >= SQUASH_VELOCITY_THRESHOLD || Math.abs(horizontalVelocity) > 7) {
             // Squash when jumping up
-            if (squashStretchSprites[0] != null) {
-                sprite = squashStretchSprites[0]; // sprite_0.png squash
-            }
+            showFrame(squashStretchClip.getFrameVariants(0)); // sprite_0.png squash
             return;
         } else if (verticalVelocity <= STRETCH_VELOCITY_THRESHOLD) {
             // Stretch when falling fast
-            if (squashStretchSprites[1] != null) {
-                sprite = squashStretchSprites[1]; // sprite_1.png stretch
-            }
+            showFrame(squashStretchClip.getFrameVariants(1)); // sprite_1.png stretch
             return;
         }
 
         // Normal animation logic when not squashing/stretching
         // Determine if player is walking based on movement
-        boolean wasWalking = isWalking;
         isWalking = GameEngine.isKeyPressed(KeyEvent.VK_LEFT) || GameEngine.isKeyPressed(KeyEvent.VK_RIGHT);
 
-        // Reset animation if state changed
-        if (wasWalking != isWalking) {
-            currentFrame = 0;
-            animationTimer = 0;
-        }
+        // Switching clips restarts the animation
+        animator.play(isWalking ? walkClip : idleClip);
 
-        // Update animation timer
-        animationTimer++;
+        // Frames only advance while on the ground, but time keeps counting
+        animator.tick();
         if (isTouchingGround()) {
+            animator.advance();
+            showFrame(animator.getFrameVariants());
+        }
+    }
 
-            if (isWalking) {
-                // Walking animation
-                if (animationTimer >= WALK_ANIMATION_SPEED) {
-                    animationTimer = 0;
-                    currentFrame = (currentFrame + 1) % walkSprites.length;
-                }
-                // Use walk sprites
-                if (walkSprites[currentFrame] != null) {
-                    sprite = walkSprites[currentFrame];
-                }
-            } else {
-                // Idle animation
-                if (animationTimer >= IDLE_ANIMATION_SPEED) {
-                    animationTimer = 0;
-                    currentFrame = (currentFrame + 1) % idleSprites.length;
-                }
-                // Use idle sprites
-                if (idleSprites[currentFrame] != null) {
-                    sprite = idleSprites[currentFrame];
-                }
-            }
+    /**
+     * Show an animation frame, keeping the current one if it failed to load
+     */
+    private void showFrame(SpriteAtlas.Region[] variants) {
+        if (variants != null) {
+            setSpriteVariants(variants);
+        }
+    }
+
+    /**
+     * Get the animation playback state (for snapshots)
+     */
+    public Animator getAnimator() {
+        return animator;
+    }
+
+    /**
+     * Everything about the player that changes during play, for level
+     * snapshots
+     */
+    public static class State {
+        private final MotionState motion;
+        private final boolean jumped, airJump, pogo, wallSlide;
+        private final int pogoCool, coyoteTime, swap;
+        private final int hDirection, hDirection2;
+        private final double velocity2X, velocity2Y;
+        private final int dashCool;
+        private final double fallStartY;
+        private final boolean wasFalling;
+        private final int[] cooldown;
+        private final boolean[] shot;
+        private final boolean isWalking;
+        private final Animator animator = new Animator();
+
+        private State(Player player) {
+            this.motion = player.saveMotion();
+            this.jumped = player.jumped;
+            this.airJump = player.airJump;
+            this.pogo = player.pogo;
+            this.wallSlide = player.wallSlide;
+            this.pogoCool = player.pogoCool;
+            this.coyoteTime = player.coyoteTime;
+            this.swap = player.swap;
+            this.hDirection = player.hDirection;
+            this.hDirection2 = player.hDirection2;
+            this.velocity2X = player.velocity2.getX();
+            this.velocity2Y = player.velocity2.getY();
+            this.dashCool = player.dashCool;
+            this.fallStartY = player.fallStartY;
+            this.wasFalling = player.wasFalling;
+            this.cooldown = player.cooldown.clone();
+            this.shot = player.shot.clone();
+            this.isWalking = player.isWalking;
+            this.animator.copyFrom(player.animator);
         }
     }
 
+    /**
+     * Save the player's state
+     */
+    public State saveState() {
+        return new State(this);
+    }
+
+    /**
+     * Put back state saved with saveState
+     */
+    public void restoreState(State saved) {
+        restoreMotion(saved.motion);
+        jumped = saved.jumped;
+        airJump = saved.airJump;
+        pogo = saved.pogo;
+        wallSlide = saved.wallSlide;
+        pogoCool = saved.pogoCool;
+        coyoteTime = saved.coyoteTime;
+        swap = saved.swap;
+        hDirection = saved.hDirection;
+        hDirection2 = saved.hDirection2;
+        velocity2.set(saved.velocity2X, saved.velocity2Y);
+        dashCool = saved.dashCool;
+        fallStartY = saved.fallStartY;
+        wasFalling = saved.wasFalling;
+        System.arraycopy(saved.cooldown, 0, cooldown, 0, cooldown.length);
+        System.arraycopy(saved.shot, 0, shot, 0, shot.length);
+        isWalking = saved.isWalking;
+        animator.copyFrom(saved.animator);
+    }
+
+    /**
+     * Stop all motion and clear jump, dash, slide, fall and attack state, so
+     * the player stands still as a new player does. Facing and gravity are
+     * kept.
+     */
+    public void resetMotion() {
+        velocity.set(0, 0);
+        acceleration.set(0, 0.9);
+        velocity2.set(0, 0);
+        jumped = false;
+        airJump = false;
+        pogo = false;
+        pogoCool = 0;
+        wallSlide = false;
+        coyoteTime = 0;
+        dashCool = 45;
+        fallStartY = y;
+        wasFalling = false;
+        Arrays.fill(cooldown, 0);
+        Arrays.fill(shot, false);
+        isWalking = false;
+        animator.play(idleClip);
+        animator.restart();
+    }
+
     @Override
     public void update() {
         // Skip all updates during death screen
@@ -209,6 +269,13 @@ public class Player extends Entity {
             boolean flipHorizontal = (hDirection == -1); // Flip when facing left
             boolean flipVertical = (swap == -1); // Flip when gravity is inverted
 
+            // Pre-flipped frames are drawn as a plain copy
+            SpriteAtlas.Region flipped = getFlippedRegion(flipHorizontal, flipVertical);
+            if (flipped != null) {
+                flipped.draw(g2d, drawX, drawY, flipped.getWidth(), flipped.getHeight());
+                return;
+            }
+
             int spriteWidth = (int) hitboxWidth;
             int spriteHeight = (int) hitboxHeight;
 
@@ -229,7 +296,45 @@ public class Player extends Entity {
             }
 
             // Draw the sprite with calculated flipping
-            g2d.drawImage(sprite, finalDrawX, finalDrawY, finalWidth, finalHeight, null);
+            if (spriteRegion != null) {
+                spriteRegion.draw(g2d, finalDrawX, finalDrawY, finalWidth, finalHeight);
+            } else {
+                g2d.drawImage(sprite, finalDrawX, finalDrawY, finalWidth, finalHeight, null);
+            }
+        }
+    }
+
+    /**
+     * Record the player sprite as a single image command, using the pre-flipped
+     * frame when there is one
+     */
+    @Override
+    public void submit(RenderQueue queue, int layer) {
+        if (sprite != null) {
+            int drawX = (int) (x - hitboxWidth / 2);
+            int drawY = (int) (y - hitboxHeight / 2);
+
+            SpriteAtlas.Region flipped = getFlippedRegion(hDirection == -1, swap == -1);
+            if (flipped != null) {
+                queue.drawRegion(layer, 0, flipped, drawX, drawY, flipped.getWidth(), flipped.getHeight(), null);
+                return;
+            }
+
+            int spriteWidth = (int) hitboxWidth;
+            int spriteHeight = (int) hitboxHeight;
+
+            // Negative sizes flip horizontally (facing left) and vertically (inverted
+            // gravity), same as draw
+            int finalDrawX = hDirection == -1 ? drawX + spriteWidth : drawX;
+            int finalDrawY = swap == -1 ? drawY + spriteHeight : drawY;
+            int finalWidth = hDirection == -1 ? -spriteWidth : spriteWidth;
+            int finalHeight = swap == -1 ? -spriteHeight : spriteHeight;
+
+            if (spriteRegion != null) {
+                queue.drawRegion(layer, 0, spriteRegion, finalDrawX, finalDrawY, finalWidth, finalHeight, null);
+            } else {
+                queue.drawImage(layer, 0, sprite, finalDrawX, finalDrawY, finalWidth, finalHeight, null);
+            }
         }
     }
 
@@ -265,6 +370,9 @@ public class Player extends Entity {
                 }
                 WaterBoundary waterBoundary = WaterBoundary.getInstance();
                 waterBoundary.createWaterEntry(x, 0.0, 15, swap); // Reduced from 20 to 15 for better performance
+
+                // Dust puffs at the feet (the ground is below in normal gravity, above when inverted)
+                VfxSystem.getInstance().spawnLandingDust(x, y + swap * hitboxHeight / 2, swap);
             }
             velocity.setY(Math.max(-0.2, velocity.getY()));
             coyoteTime = 5;
@@ -459,6 +567,11 @@ public class Player extends Entity {
         velocity2.setY(velocity2.getY() - 2);
         velocity2.setY(Math.max(0, velocity2.getY()));
 
+        // Leave a trail while the dash is still carrying the player
+        if (velocity2.getY() > 0) {
+            VfxSystem.getInstance().spawnDashTrail(x, y, hitboxHeight, hDirection);
+        }
+
         // Speed adjustment after wall jump
         if (velocity2.getX() + velocity.getX() >= 3 && hDirection != hDirection2 && velocity2.getX() > 0) {
             velocity.setX(Math.max(3 - velocity2.getX(), 0));
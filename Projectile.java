@@ -1,5 +1,3 @@
-import java.awt.*;
-
 /**
  * Projectile class representing weapons, spells, and other active game elements
  */
@@ -9,11 +7,6 @@ public class Projectile extends Entity {
     private long creationTime;
     private Vector2D velocity; // Initial velocity of the projectile
 
-    // Death screen effect variables
-    private double initX = 0; // Initial X position for death effect
-    private double initY = 0; // Initial Y position for death effect
-    private double scale = 1.0; // Scale factor for death effect
-
     /**
      * Create a new projectile
      */
@@ -56,13 +49,6 @@ public class Projectile extends Entity {
                 spritePath = "/Sprites/O-4.png";
                 setSpriteSize(50, 74); // Visual sprite size
                 setHitboxSize(40, 60); // Slightly smaller hitbox than visual
-            } // Death screen effect circles
-            case 6 -> {
-                // No sprite needed - will draw white circles manually
-                setSpriteSize(30, 30); // Small initial size
-                setHitboxSize(30, 30); // Same hitbox as visual
-                // Store initial position and scale in velocity for the effect
-                // velocity.x = logDistance, velocity.y = angle, scale stored separately
             }
             // Default
             default -> {
@@ -75,26 +61,6 @@ public class Projectile extends Entity {
         loadSprite();
     }
 
-    /**
-     * Create a death screen effect projectile
-     */
-    public Projectile(double deathX, double deathY, double angle, double initialLogDist) {
-        super(deathX, deathY, 30, 30, "");
-
-        this.ID = 6; // Death screen effect
-        this.velocity = new Vector2D(initialLogDist, angle); // Store logDist and angle in velocity
-        this.creationTime = System.nanoTime();
-        this.initX = deathX; // Store initial death position
-        this.initY = deathY;
-        this.scale = 1.0;
-
-        // Set up death effect projectile - no sprite needed, we'll draw white circles
-        setSpriteSize(30, 30); // Small initial size
-        setHitboxSize(30, 30); // Same hitbox as visual
-
-        // Don't load sprite for death effect - we'll draw circles manually
-    }
-
     @Override
     public void update() {
         // Handle projectile-specific movement
@@ -138,32 +104,6 @@ public class Projectile extends Entity {
                 // Ranged projectile moves in the direction it was fired
                 x += velocity.getX();
             }
-            case 6 -> {
-                // Death screen effect - treat velocity as (log(distance), angle) instead of
-                // actual velocity
-                // Summon in 45deg intervals expand outward following logarithmic equation
-                double logDist = velocity.getX();
-                double dist = Math.log10(logDist) / Math.log10(1.07); // Calculate distance from log as per your formula
-                double angle = velocity.getY();
-
-                // Calculate new position based on initial death position
-                x = initX + dist * Math.cos(Math.toRadians(angle));
-                y = initY + dist * Math.sin(Math.toRadians(angle));
-
-                // Update angle and log distance for next frame
-                double lifetime = (System.nanoTime() - creationTime) / 1_000_000_000.0; 
-                angle = (angle + (0.9 - lifetime) * 6) % 360;
-                logDist += 4;
-                scale = Math.min(scale+2, 60);
-
-                // Update velocity for next frame
-                velocity.setX(logDist);
-                velocity.setY(angle);
-
-                // Update visual size based on scale
-                setSpriteSize((int) (30 * scale / 100.0), (int) (30 * scale / 100.0)); // Scale down the growth
-                setHitboxSize((int) (30 * scale / 100.0), (int) (30 * scale / 100.0));
-            }
         }
     }
 
@@ -171,17 +111,18 @@ public class Projectile extends Entity {
      * Handle collision with walls
      */
     private void checkWallCollisions() {
-        if (ID != 6) {
-            for (Wall wall : GameEngine.getWalls()) {
-                if (isCollidingWithWall(wall)) {
-                    // For most projectiles, deactivate on wall collision
+        for (Wall wall : GameEngine.getWalls()) {
+            if (isCollidingWithWall(wall)) {
+                // For most projectiles, deactivate on wall collision
                 if (ID != 5) { // Except player clone type
                     setActive(false);
                 } else {
                     handleWallCollision(wall);
                 }
             }
-        } // Check for collisions with NPCs if this is an attack projectile
+        }
+
+        // Check for collisions with NPCs if this is an attack projectile
         if (ID >= 1 && ID <= 4) {
             for (Npc npc : GameEngine.getNpcs()) {
                 if (isColliding(npc)) {
@@ -192,7 +133,6 @@ public class Projectile extends Entity {
             }
         }
     }
-    }
 
     /**
      * Handle projectile lifetime and expiration
@@ -211,10 +151,6 @@ public class Projectile extends Entity {
                 if (lifetime > 2.0)
                     setActive(false); // Longer duration for ranged attacks
             }
-            case 6 -> {
-                if (lifetime > 0.7)
-                    setActive(false);
-            }
 
         }
 
@@ -234,24 +170,7 @@ public class Projectile extends Entity {
     }
 
     @Override
-    public void draw(Graphics g) {
-        if (!isActive())
-            return;
-
-        // Special rendering for death screen effect
-        if (ID == 6) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setColor(Color.WHITE);
-
-            // Draw a filled white circle
-            int diameter = (int) spriteWidth;
-            int drawX = (int) (x - diameter / 2);
-            int drawY = (int) (y - diameter / 2);
-
-            g2d.fillOval(drawX, drawY, diameter, diameter);
-        } else {
-            // Use default sprite rendering for other projectiles
-            super.draw(g);
-        }
+    public void submit(RenderQueue queue, int layer) {
+        submitSprite(queue, layer);
     }
 }
@@ -0,0 +1,408 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Records draw calls for a frame into preallocated arrays, then sorts them by
+ * layer, z and pipeline state (composite, image vs. fill) before flushing to
+ * Graphics2D. Commands in the same layer and z are grouped by state, so the
+ * composite and color only change when they actually differ.
+ */
+public class RenderQueue {
+    /**
+     * Anything that draws itself directly, recorded as a custom command
+     */
+    public interface Drawable {
+        void draw(Graphics g);
+    }
+
+    // Layers, flushed in this order. The background is in screen space, the rest
+    // are in world space (camera transform applied)
+    public static final int LAYER_BACKGROUND = 0;
+    public static final int LAYER_WALLS = 1;
+    public static final int LAYER_PLATFORMS = 2;
+    public static final int LAYER_CLONE = 3;
+    public static final int LAYER_PLAYER = 4;
+    public static final int LAYER_NPCS = 5;
+    public static final int LAYER_PROJECTILES = 6;
+    public static final int LAYER_LASERS = 7;
+    public static final int LAYER_HAZARDS = 8;
+    public static final int LAYER_WATER = 9;
+    public static final int LAYER_COUNT = 10;
+
+    // Command kinds, also the low part of the state key
+    private static final int KIND_IMAGE = 0; // Unscaled image
+    private static final int KIND_IMAGE_SCALED = 1; // Image scaled (or flipped) to a size
+    private static final int KIND_IMAGE_REGION = 2; // Part of an image
+    private static final int KIND_FILL_RECT = 3;
+    private static final int KIND_CUSTOM = 4;
+
+    private static final int MAX_COMPOSITE_SLOTS = 31; // Distinct composites tracked per frame for sorting
+    private static final int INDEX_BITS = 32;
+    private static final int STATE_BITS = 10;
+    private static final int Z_BITS = 16;
+
+    // Layer groups that don't overlap until compositing, for parallel flushing.
+    // The background stays on the render thread, the others get worker threads
+    private static final int WORLD_GROUP_FIRST_LAYER = LAYER_WALLS;
+    private static final int WATER_GROUP_FIRST_LAYER = LAYER_WATER;
+    private static final int WORKER_THREADS = 2;
+
+    private int capacity;
+    private int count = 0;
+
+    // Command data, one entry per command
+    private int[] kinds;
+    private int[] layers;
+    private int[] zs;
+    private int[] coords; // 8 ints per command: destination rect, then source rect
+    private Image[] images;
+    private Color[] colors;
+    private Composite[] composites;
+    private Drawable[] drawables;
+    private long[] sortKeys;
+
+    // Composites seen this frame, so each can be given a small sort id
+    private final Composite[] compositeSlots = new Composite[MAX_COMPOSITE_SLOTS];
+    private int compositeSlotCount = 0;
+
+    // Parallel flushing: worker pool and one offscreen target per worker group
+    private ForkJoinPool pool;
+    private BufferedImage worldTarget;
+    private BufferedImage waterTarget;
+
+    /**
+     * Create a render queue that can hold the given number of commands before
+     * growing
+     */
+    public RenderQueue(int initialCapacity) {
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    /**
+     * Allocate (or grow) the command arrays
+     */
+    private void allocate(int newCapacity) {
+        kinds = kinds == null ? new int[newCapacity] : Arrays.copyOf(kinds, newCapacity);
+        layers = layers == null ? new int[newCapacity] : Arrays.copyOf(layers, newCapacity);
+        zs = zs == null ? new int[newCapacity] : Arrays.copyOf(zs, newCapacity);
+        coords = coords == null ? new int[newCapacity * 8] : Arrays.copyOf(coords, newCapacity * 8);
+        images = images == null ? new Image[newCapacity] : Arrays.copyOf(images, newCapacity);
+        colors = colors == null ? new Color[newCapacity] : Arrays.copyOf(colors, newCapacity);
+        composites = composites == null ? new Composite[newCapacity] : Arrays.copyOf(composites, newCapacity);
+        drawables = drawables == null ? new Drawable[newCapacity] : Arrays.copyOf(drawables, newCapacity);
+        sortKeys = sortKeys == null ? new long[newCapacity] : Arrays.copyOf(sortKeys, newCapacity);
+        capacity = newCapacity;
+    }
+
+    /**
+     * Reserve the next command slot
+     */
+    private int next(int kind, int layer, int z, Composite composite) {
+        if (count == capacity) {
+            allocate(capacity * 2);
+            System.out.println("Render queue grown to " + capacity + " commands");
+        }
+        int index = count++;
+        kinds[index] = kind;
+        layers[index] = layer;
+        zs[index] = z;
+        composites[index] = composite;
+        return index;
+    }
+
+    /**
+     * Draw an image at its natural size
+     */
+    public void drawImage(int layer, int z, Image image, int x, int y) {
+        int index = next(KIND_IMAGE, layer, z, null);
+        images[index] = image;
+        coords[index * 8] = x;
+        coords[index * 8 + 1] = y;
+    }
+
+    /**
+     * Draw an image scaled to a size (negative sizes flip, as with
+     * Graphics.drawImage)
+     *
+     * @param composite composite to draw with, or null for plain source-over
+     */
+    public void drawImage(int layer, int z, Image image, int x, int y, int width, int height, Composite composite) {
+        int index = next(KIND_IMAGE_SCALED, layer, z, composite);
+        images[index] = image;
+        int base = index * 8;
+        coords[base] = x;
+        coords[base + 1] = y;
+        coords[base + 2] = width;
+        coords[base + 3] = height;
+    }
+
+    /**
+     * Draw part of an image, using the same corner coordinates as
+     * Graphics.drawImage
+     */
+    public void drawImageRegion(int layer, int z, Image image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1,
+            int sx2, int sy2, Composite composite) {
+        int index = next(KIND_IMAGE_REGION, layer, z, composite);
+        images[index] = image;
+        int base = index * 8;
+        coords[base] = dx1;
+        coords[base + 1] = dy1;
+        coords[base + 2] = dx2;
+        coords[base + 3] = dy2;
+        coords[base + 4] = sx1;
+        coords[base + 5] = sy1;
+        coords[base + 6] = sx2;
+        coords[base + 7] = sy2;
+    }
+
+    /**
+     * Draw an atlas region scaled to a size (negative sizes flip, as with
+     * Graphics.drawImage)
+     */
+    public void drawRegion(int layer, int z, SpriteAtlas.Region region, int x, int y, int width, int height,
+            Composite composite) {
+        drawImageRegion(layer, z, region.getPage(), x, y, x + width, y + height, region.getX(), region.getY(),
+                region.getX() + region.getWidth(), region.getY() + region.getHeight(), composite);
+    }
+
+    /**
+     * Fill a rectangle with a solid color
+     */
+    public void fillRect(int layer, int z, int x, int y, int width, int height, Color color, Composite composite) {
+        int index = next(KIND_FILL_RECT, layer, z, composite);
+        colors[index] = color;
+        int base = index * 8;
+        coords[base] = x;
+        coords[base + 1] = y;
+        coords[base + 2] = width;
+        coords[base + 3] = height;
+    }
+
+    /**
+     * Record something that draws itself. It may change any Graphics2D state as
+     * long as it restores the transform.
+     */
+    public void drawCustom(int layer, int z, Drawable drawable) {
+        int index = next(KIND_CUSTOM, layer, z, null);
+        drawables[index] = drawable;
+    }
+
+    /**
+     * Check if a layer is drawn in screen space rather than world space
+     */
+    private static boolean isScreenSpace(int layer) {
+        return layer == LAYER_BACKGROUND;
+    }
+
+    /**
+     * Sort and draw every recorded command, then clear the queue
+     */
+    public void flush(Graphics2D g, Camera camera) {
+        sort();
+        drawRange(g, camera, 0, count);
+        clear();
+    }
+
+    /**
+     * Sort and draw every recorded command like flush, but rasterize the world
+     * and water layers into their own offscreen images on worker threads while
+     * the background is drawn on this thread. The images are then composited
+     * in layer order. Custom commands in those layers run on a worker, so they
+     * must not touch state that other layers use while drawing.
+     *
+     * @param width  width of the area being drawn, in screen pixels
+     * @param height height of the area being drawn, in screen pixels
+     */
+    public void flushParallel(Graphics2D g, Camera camera, int width, int height) {
+        sort();
+
+        // Find where each group starts in the sorted order
+        int worldStart = firstWithLayerAtLeast(WORLD_GROUP_FIRST_LAYER);
+        int waterStart = firstWithLayerAtLeast(WATER_GROUP_FIRST_LAYER);
+
+        if (pool == null) {
+            pool = new ForkJoinPool(WORKER_THREADS);
+        }
+        if (worldTarget == null || worldTarget.getWidth() != width || worldTarget.getHeight() != height) {
+            worldTarget = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            waterTarget = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        ForkJoinTask<?> world = worldStart < waterStart
+                ? pool.submit(() -> drawRangeOffscreen(worldTarget, camera, worldStart, waterStart))
+                : null;
+        ForkJoinTask<?> water = waterStart < count
+                ? pool.submit(() -> drawRangeOffscreen(waterTarget, camera, waterStart, count))
+                : null;
+
+        // Background on this thread while the workers rasterize
+        drawRange(g, camera, 0, worldStart);
+
+        // Composite in layer order as each group finishes
+        if (world != null) {
+            world.join();
+            g.drawImage(worldTarget, 0, 0, null);
+        }
+        if (water != null) {
+            water.join();
+            g.drawImage(waterTarget, 0, 0, null);
+        }
+
+        clear();
+    }
+
+    /**
+     * Index in sorted order of the first command at or above a layer, or count
+     * if there is none
+     */
+    private int firstWithLayerAtLeast(int layer) {
+        for (int k = 0; k < count; k++) {
+            if (layers[(int) (sortKeys[k] & 0xFFFFFFFFL)] >= layer) {
+                return k;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Clear an offscreen target and draw a range of sorted commands into it
+     */
+    private void drawRangeOffscreen(BufferedImage target, Camera camera, int from, int to) {
+        Graphics2D g = target.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, target.getWidth(), target.getHeight());
+        g.setComposite(AlphaComposite.SrcOver);
+        drawRange(g, camera, from, to);
+        g.dispose();
+    }
+
+    /**
+     * Build sort keys (layer, z, state, then submission order) and sort them
+     */
+    private void sort() {
+        for (int i = 0; i < count; i++) {
+            long state = ((long) compositeSlot(composites[i]) << 3) | kinds[i];
+            long z = Math.max(0, Math.min((1 << Z_BITS) - 1, zs[i] + (1 << (Z_BITS - 1))));
+            sortKeys[i] = ((long) layers[i] << (INDEX_BITS + STATE_BITS + Z_BITS))
+                    | (z << (INDEX_BITS + STATE_BITS))
+                    | (state << INDEX_BITS)
+                    | i;
+        }
+        Arrays.sort(sortKeys, 0, count);
+    }
+
+    /**
+     * Draw the sorted commands from one position to another. Leaves the
+     * graphics context's transform, composite and color as it found them.
+     */
+    private void drawRange(Graphics2D g, Camera camera, int from, int to) {
+        // Rendering hints are set once for the whole range
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+
+        Composite originalComposite = g.getComposite();
+        Color originalColor = g.getColor();
+        Composite currentComposite = originalComposite;
+        Color currentColor = originalColor;
+        boolean worldSpace = false;
+
+        for (int k = from; k < to; k++) {
+            int i = (int) (sortKeys[k] & 0xFFFFFFFFL);
+
+            // Switch between screen and world space only when the layer requires it
+            boolean wantWorld = !isScreenSpace(layers[i]);
+            if (wantWorld != worldSpace) {
+                if (wantWorld) {
+                    camera.applyTransform(g);
+                } else {
+                    camera.removeTransform(g);
+                }
+                worldSpace = wantWorld;
+            }
+
+            int kind = kinds[i];
+            if (kind == KIND_CUSTOM) {
+                drawables[i].draw(g);
+                // Custom draws may leave any state behind, so re-check it next time
+                currentComposite = null;
+                currentColor = null;
+                continue;
+            }
+
+            Composite composite = composites[i] != null ? composites[i] : AlphaComposite.SrcOver;
+            if (composite != currentComposite) {
+                g.setComposite(composite);
+                currentComposite = composite;
+            }
+
+            int base = i * 8;
+            switch (kind) {
+                case KIND_IMAGE -> g.drawImage(images[i], coords[base], coords[base + 1], null);
+                case KIND_IMAGE_SCALED -> g.drawImage(images[i], coords[base], coords[base + 1],
+                        coords[base + 2], coords[base + 3], null);
+                case KIND_IMAGE_REGION -> g.drawImage(images[i], coords[base], coords[base + 1],
+                        coords[base + 2], coords[base + 3], coords[base + 4], coords[base + 5],
+                        coords[base + 6], coords[base + 7], null);
+                case KIND_FILL_RECT -> {
+                    if (colors[i] != currentColor) {
+                        g.setColor(colors[i]);
+                        currentColor = colors[i];
+                    }
+                    g.fillRect(coords[base], coords[base + 1], coords[base + 2], coords[base + 3]);
+                }
+                default -> {
+                }
+            }
+        }
+
+        if (worldSpace) {
+            camera.removeTransform(g);
+        }
+        g.setComposite(originalComposite);
+        g.setColor(originalColor);
+
+    }
+
+    /**
+     * Small per-frame id for a composite, used to group commands by state
+     */
+    private int compositeSlot(Composite composite) {
+        if (composite == null || composite == AlphaComposite.SrcOver) {
+            return 0;
+        }
+        for (int slot = 0; slot < compositeSlotCount; slot++) {
+            if (compositeSlots[slot] == composite) {
+                return slot + 1;
+            }
+        }
+        if (compositeSlotCount < MAX_COMPOSITE_SLOTS) {
+            compositeSlots[compositeSlotCount++] = composite;
+            return compositeSlotCount;
+        }
+        return MAX_COMPOSITE_SLOTS + 1; // Out of slots, these just sort together
+    }
+
+    /**
+     * Drop all recorded commands and references
+     */
+    private void clear() {
+        Arrays.fill(images, 0, count, null);
+        Arrays.fill(colors, 0, count, null);
+        Arrays.fill(composites, 0, count, null);
+        Arrays.fill(drawables, 0, count, null);
+        Arrays.fill(compositeSlots, 0, compositeSlotCount, null);
+        compositeSlotCount = 0;
+        count = 0;
+    }
+
+    /**
+     * Number of commands recorded so far this frame
+     */
+    public int size() {
+        return count;
+    }
+}
@@ -1,7 +1,5 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.IOException;
 
 public class Spike extends Entity {
     private BufferedImage[] crystalSprites; // sprites 0-2 for crystal sprites
@@ -13,9 +11,18 @@ public class Spike extends Entity {
     private boolean spritesNeedUpdate = true; // Flag to update cached sprites
 
     public Spike(double x, double y, double width, double height) {
+        this(x, y, width, height, 0);
+    }
+
+    /**
+     * Create a crystal whose sprite is picked by a seed and its position
+     *
+     * @param seed the level's variant seed (see Level.setVariantSeed)
+     */
+    public Spike(double x, double y, double width, double height, long seed) {
         super(x, y, width, height, "");
-        // Randomly select one of the 3 crystal sprites
-        this.spriteIndex = (int)(Math.random() * 3);
+        // Select one of the 3 crystal sprites, the same one every time for this seed
+        this.spriteIndex = (int) Math.floorMod(GameUtils.hash(seed, x, y), 3L);
 
         // Load crystal sprites
         loadCrystalSprites();
@@ -41,12 +48,10 @@ public class Spike extends Entity {
         // Load crystal sprites
         crystalSprites = new BufferedImage[3];
         for (int i = 0; i < 3; i++) {
-            try {
-                crystalSprites[i] = ImageIO
-                        .read(getClass().getResourceAsStream(String.format("/Sprites/Crystal/sprite_%d.png", i)));
-                System.out.println("Loaded crystal sprite: " + i);
-            } catch (IOException | IllegalArgumentException e) {
-                System.out.println("Could not load crystal sprite " + i + ": " + e.getMessage());
+            crystalSprites[i] = SpriteAtlas.getInstance()
+                    .getImage(String.format("/Sprites/Crystal/sprite_%d.png", i));
+            if (crystalSprites[i] == null) {
+                System.out.println("Could not load crystal sprite " + i);
             }
         }
     }    /**
@@ -0,0 +1,317 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Packs the small sprite frames under /Sprites into a few large pages at
+ * startup, so draws of different sprites share one source surface. Regions are
+ * looked up by their resource path. Lookups are synchronized because the level
+ * worker asks for sprites while the game thread draws.
+ */
+public class SpriteAtlas {
+    private static SpriteAtlas instance;
+
+    public static final int PAGE_SIZE = 1024; // Edge length of an atlas page in pixels
+    private static final int PADDING = 1; // Transparent gap between regions so scaled draws don't bleed
+
+    // Flip flags, also the index into a variant array from getFlipVariants
+    public static final int FLIP_NONE = 0;
+    public static final int FLIP_HORIZONTAL = 1;
+    public static final int FLIP_VERTICAL = 2;
+    public static final int FLIP_BOTH = FLIP_HORIZONTAL | FLIP_VERTICAL;
+
+    /**
+     * A rectangle of an atlas page holding one sprite
+     */
+    public static class Region {
+        private final String name;
+        private final BufferedImage page;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private BufferedImage image; // Sub-image view, created on first use
+
+        private Region(String name, BufferedImage page, int x, int y, int width, int height) {
+            this.name = name;
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Draw the region scaled to a size (negative sizes flip, as with
+         * Graphics.drawImage)
+         */
+        public void draw(Graphics g, int drawX, int drawY, int drawWidth, int drawHeight) {
+            g.drawImage(page, drawX, drawY, drawX + drawWidth, drawY + drawHeight, x, y, x + width, y + height, null);
+        }
+
+        /**
+         * Get the region as a stand-alone image for code that transforms or bakes
+         * the sprite. It shares pixels with the page, so it must not be modified.
+         */
+        public synchronized BufferedImage getImage() {
+            if (image == null) {
+                image = page.getSubimage(x, y, width, height);
+            }
+            return image;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BufferedImage getPage() {
+            return page;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    private final HashMap<String, Region> regions = new HashMap<>();
+    private final List<BufferedImage> pages = new ArrayList<>();
+
+    // Shelf packing state for the current page
+    private BufferedImage currentPage;
+    private int shelfX;
+    private int shelfY;
+    private int shelfHeight;
+
+    /**
+     * Private constructor for singleton pattern
+     */
+    private SpriteAtlas() {
+        packAll(getManifest());
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized SpriteAtlas getInstance() {
+        if (instance == null) {
+            instance = StartupTrace.time("SpriteAtlas init", SpriteAtlas::new);
+        }
+        return instance;
+    }
+
+    /**
+     * Every sprite packed at startup. Listed explicitly because resource
+     * directories can't be listed reliably from a jar.
+     */
+    public static List<String> getManifest() {
+        List<String> paths = new ArrayList<>();
+        addFrames(paths, "/Sprites/Character/Idle/sprite_%d.png", 4);
+        addFrames(paths, "/Sprites/Character/Walk cycle/sprite_%d.png", 6);
+        addFrames(paths, "/Sprites/Character/squash and stretch/sprite_%d.png", 2);
+        addFrames(paths, "/Sprites/Clone/Idle/sprite_%d.png", 4);
+        addFrames(paths, "/Sprites/Clone/Walk cycle/sprite_%d.png", 6);
+        addFrames(paths, "/Sprites/Clone/squash and stretch/sprite_%d.png", 2);
+        addFrames(paths, "/Sprites/Labseor/sprite_%02d.png", 10);
+        addFrames(paths, "/Sprites/Crystal/sprite_%d.png", 3);
+        addFrames(paths, "/Sprites/Platforms (1)/sprite_0%d.png", 10);
+        addFrames(paths, "/Sprites/glint/sprite_%d.png", 9);
+        addFrames(paths, "/Sprites/slash/sprite_%d.png", 5);
+        paths.add("/Sprites/O-4.png");
+        paths.add("/Sprites/friendlinessPellet.png");
+        paths.add("/Sprites/thec oin.png");
+        return paths;
+    }
+
+    /**
+     * Add a numbered sequence of frame paths
+     */
+    private static void addFrames(List<String> paths, String format, int count) {
+        for (int i = 0; i < count; i++) {
+            paths.add(String.format(format, i));
+        }
+    }
+
+    /**
+     * Load every sprite in the manifest and pack them, tallest first so shelves
+     * waste less space
+     */
+    private void packAll(List<String> paths) {
+        List<String> names = new ArrayList<>();
+        List<BufferedImage> images = new ArrayList<>();
+        for (String path : paths) {
+            BufferedImage image = loadImage(path);
+            if (image != null) {
+                names.add(path);
+                images.add(image);
+            }
+        }
+
+        Integer[] order = new Integer[images.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> images.get(b).getHeight() - images.get(a).getHeight());
+
+        for (int i : order) {
+            pack(names.get(i), images.get(i));
+        }
+
+        System.out.println("Packed " + regions.size() + " sprites into " + pages.size() + " atlas page(s)");
+    }
+
+    /**
+     * Load a sprite from the resource path, through the asset loader so
+     * preloaded sprites aren't decoded again
+     */
+    private BufferedImage loadImage(String path) {
+        try {
+            return AssetLoader.getInstance().getImage(path);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Could not load atlas sprite " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Copy an image into the next free spot, starting a new shelf or page when
+     * the current one is full
+     */
+    private Region pack(String name, BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        // Too big to share a page, give it one of its own
+        if (width + PADDING > PAGE_SIZE || height + PADDING > PAGE_SIZE) {
+            BufferedImage page = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            pages.add(page);
+            return copyInto(name, image, page, 0, 0);
+        }
+
+        if (currentPage != null && shelfX + width + PADDING > PAGE_SIZE) {
+            // Next shelf
+            shelfX = 0;
+            shelfY += shelfHeight;
+            shelfHeight = 0;
+        }
+        if (currentPage == null || shelfY + height + PADDING > PAGE_SIZE) {
+            // Next page
+            currentPage = new BufferedImage(PAGE_SIZE, PAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+            pages.add(currentPage);
+            shelfX = 0;
+            shelfY = 0;
+            shelfHeight = 0;
+        }
+
+        Region region = copyInto(name, image, currentPage, shelfX, shelfY);
+        shelfX += width + PADDING;
+        shelfHeight = Math.max(shelfHeight, height + PADDING);
+        return region;
+    }
+
+    /**
+     * Copy an image onto a page and register its region
+     */
+    private Region copyInto(String name, BufferedImage image, BufferedImage page, int x, int y) {
+        Graphics2D g = page.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, x, y, null);
+        g.dispose();
+
+        Region region = new Region(name, page, x, y, image.getWidth(), image.getHeight());
+        regions.put(name, region);
+        return region;
+    }
+
+    /**
+     * Get the region for a sprite by resource path. Sprites that weren't in the
+     * manifest are loaded and packed on first use.
+     *
+     * @return the region, or null if the sprite couldn't be loaded
+     */
+    public synchronized Region getRegion(String path) {
+        Region region = regions.get(path);
+        if (region == null && path != null && !path.isEmpty()) {
+            BufferedImage image = loadImage(path);
+            if (image != null) {
+                region = pack(path, image);
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Get a sprite pre-scaled to a draw size in all four flip orientations, so
+     * each can be drawn as a plain unscaled copy. Variants are baked and packed
+     * the first time they're asked for.
+     *
+     * @return regions indexed by flip flags, or null if the sprite couldn't be
+     *         loaded
+     */
+    public synchronized Region[] getFlipVariants(String path, int width, int height) {
+        Region base = getRegion(path);
+        if (base == null) {
+            return null;
+        }
+
+        Region[] variants = new Region[4];
+        for (int flip = FLIP_NONE; flip <= FLIP_BOTH; flip++) {
+            String key = path + "@" + width + "x" + height + "/" + flip;
+            Region variant = regions.get(key);
+            if (variant == null) {
+                variant = pack(key, bakeVariant(base, width, height, flip));
+            }
+            variants[flip] = variant;
+        }
+        return variants;
+    }
+
+    /**
+     * Scale and flip a region into a new image, sampling the same way the
+     * renderer does
+     */
+    private BufferedImage bakeVariant(Region base, int width, int height, int flip) {
+        boolean flipHorizontal = (flip & FLIP_HORIZONTAL) != 0;
+        boolean flipVertical = (flip & FLIP_VERTICAL) != 0;
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        base.draw(g, flipHorizontal ? width : 0, flipVertical ? height : 0, flipHorizontal ? -width : width,
+                flipVertical ? -height : height);
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Get a sprite as a stand-alone image by resource path
+     *
+     * @return the image, or null if the sprite couldn't be loaded
+     */
+    public BufferedImage getImage(String path) {
+        Region region = getRegion(path);
+        return region != null ? region.getImage() : null;
+    }
+
+    /**
+     * Number of atlas pages in use
+     */
+    public synchronized int getPageCount() {
+        return pages.size();
+    }
+}
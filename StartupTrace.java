@@ -0,0 +1,230 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each startup phase takes, from JVM start until the first frame
+ * of gameplay, and writes the timeline on exit as Chrome trace-event JSON
+ * (open it in chrome://tracing or ui.perfetto.dev).
+ *
+ * Off unless a file is given with -DstartupTrace=path/to/trace.json. Phases
+ * are measured by running them through time or run:
+ *
+ * instance = StartupTrace.time("SpriteAtlas init", SpriteAtlas::new);
+ *
+ * Callers on paths that also run during gameplay check isEnabled before
+ * building a phase name, so tracing costs nothing when it's off.
+ */
+public final class StartupTrace {
+    private static final String OUTPUT_PATH = System.getProperty("startupTrace");
+    // Timeline starts when the JVM did, so the time before Main shows up too
+    private static final long CLASS_INIT = System.nanoTime();
+    private static final long ORIGIN = CLASS_INIT
+            - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000;
+
+    private static final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<>();
+    private static volatile boolean recording = OUTPUT_PATH != null;
+
+    // Shared by every phase while tracing is off, so disabled spans cost nothing
+    private static final Span DISABLED = new Span(null);
+
+    static {
+        if (recording) {
+            events.add(new Event("JVM startup", Thread.currentThread(), ORIGIN, CLASS_INIT - ORIGIN));
+            Runtime.getRuntime().addShutdownHook(new Thread(StartupTrace::write, "startup-trace-writer"));
+        }
+    }
+
+    /**
+     * A recorded event: a phase with a duration, or an instant marker when
+     * duration is negative
+     */
+    private static class Event {
+        final String name;
+        final String threadName;
+        final long threadId;
+        final long start;
+        final long duration;
+
+        Event(String name, Thread thread, long start, long duration) {
+            this.name = name;
+            this.threadName = thread.getName();
+            this.threadId = thread.getId();
+            this.start = start;
+            this.duration = duration;
+        }
+    }
+
+    /**
+     * An open phase, recorded when it's closed. It is attributed to the thread
+     * that began it, even if another thread closes it.
+     */
+    public static class Span implements AutoCloseable {
+        private final String name;
+        private final Thread thread;
+        private final long start;
+        private boolean closed = false;
+
+        private Span(String name) {
+            this.name = name;
+            this.thread = Thread.currentThread();
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (name == null || closed) {
+                return;
+            }
+            closed = true;
+            if (recording) {
+                events.add(new Event(name, thread, start, System.nanoTime() - start));
+            }
+        }
+    }
+
+    private StartupTrace() {
+    }
+
+    /**
+     * Start timing a phase on the current thread. Close the span when the
+     * phase ends; prefer time or run when the phase is a single call.
+     */
+    public static Span begin(String name) {
+        return recording ? new Span(name) : DISABLED;
+    }
+
+    /**
+     * Time a phase that produces a value
+     */
+    public static <T> T time(String name, Supplier<T> phase) {
+        Span span = begin(name);
+        try {
+            return phase.get();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Time a phase
+     */
+    public static void run(String name, Runnable phase) {
+        Span span = begin(name);
+        try {
+            phase.run();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Check whether phases are being recorded
+     */
+    public static boolean isEnabled() {
+        return recording;
+    }
+
+    /**
+     * Record an instant marker
+     */
+    public static void mark(String name) {
+        if (recording) {
+            events.add(new Event(name, Thread.currentThread(), System.nanoTime(), -1));
+        }
+    }
+
+    /**
+     * Mark the end of startup and stop recording, so gameplay doesn't grow the
+     * trace
+     */
+    public static void finish() {
+        mark("startup complete");
+        recording = false;
+    }
+
+    /**
+     * Write every recorded event to the output file
+     */
+    private static void write() {
+        List<Event> recorded = new ArrayList<>(events);
+        Map<Long, String> threads = new LinkedHashMap<>();
+        for (Event event : recorded) {
+            threads.putIfAbsent(event.threadId, event.threadName);
+        }
+
+        try (Writer out = Files.newBufferedWriter(Paths.get(OUTPUT_PATH), StandardCharsets.UTF_8)) {
+            out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+            boolean first = true;
+
+            // Thread names, so lanes are labelled in the viewer
+            for (Map.Entry<Long, String> thread : threads.entrySet()) {
+                first = separate(out, first);
+                out.write("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":1,\"tid\":" + thread.getKey()
+                        + ",\"args\":{\"name\":" + quote(thread.getValue()) + "}}");
+            }
+
+            for (Event event : recorded) {
+                first = separate(out, first);
+                out.write("{\"name\":" + quote(event.name) + ",\"cat\":\"startup\",\"pid\":1,\"tid\":"
+                        + event.threadId + ",\"ts\":" + micros(event.start - ORIGIN));
+                if (event.duration >= 0) {
+                    out.write(",\"ph\":\"X\",\"dur\":" + micros(event.duration) + "}");
+                } else {
+                    out.write(",\"ph\":\"i\",\"s\":\"g\"}");
+                }
+            }
+            out.write("\n]}\n");
+            System.out.println("Wrote startup trace with " + recorded.size() + " events to " + OUTPUT_PATH);
+        } catch (IOException e) {
+            System.out.println("Could not write startup trace " + OUTPUT_PATH + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean separate(Writer out, boolean first) throws IOException {
+        if (!first) {
+            out.write(",\n");
+        }
+        return false;
+    }
+
+    /**
+     * Nanoseconds as the fractional microseconds the trace format uses
+     */
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+
+    /**
+     * JSON string literal
+     */
+    private static String quote(String text) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,182 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Disk cache of decoded textures as raw premultiplied ARGB pixels. Each entry
+ * records the hash of the file it was decoded from, so an edited source is
+ * decoded again and its entry rewritten. Entries are read with one bulk read
+ * and copied straight into an image's pixel array, skipping ImageIO.
+ *
+ * Entry layout (native byte order): magic, width, height, source hash, then
+ * width * height pixels.
+ */
+public class TextureCache {
+    private static TextureCache instance;
+
+    private static final String CACHE_DIR = ".texturecache";
+    private static final int MAGIC = 0x41524750; // "ARGP"
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+
+    private final Path directory;
+
+    /**
+     * Private constructor for singleton pattern
+     */
+    private TextureCache() {
+        directory = Paths.get(CACHE_DIR);
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized TextureCache getInstance() {
+        if (instance == null) {
+            instance = new TextureCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Hash the bytes of a source file
+     */
+    public static long hash(byte[] source) {
+        CRC32 crc = new CRC32();
+        crc.update(source);
+        return crc.getValue() ^ ((long) source.length << 32); // Length too, CRC32 alone is only 32 bits
+    }
+
+    /**
+     * Get a cached texture
+     *
+     * @param name       asset path the texture was loaded from
+     * @param sourceHash hash of the current source file
+     * @return the texture as TYPE_INT_ARGB_PRE, or null if there is no entry or
+     *         it was made from a different source
+     */
+    public BufferedImage load(String name, long sourceHash) {
+        Path file = entryPath(name);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return null;
+            }
+            // Read rather than map: a mapping stays open until it is garbage
+            // collected, and on Windows that blocks replacing a stale entry
+            ByteBuffer header = readFully(channel, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC) {
+                // Older layout or other byte order, rebuild it
+                return null;
+            }
+            int width = header.getInt(4);
+            int height = header.getInt(8);
+            long hash = header.getLong(12);
+            if (hash != sourceHash || width <= 0 || height <= 0
+                    || size != HEADER_SIZE + (long) width * height * 4) {
+                return null;
+            }
+
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            readFully(channel, width * height * 4).asIntBuffer().get(pixels);
+            return image;
+        } catch (IOException e) {
+            System.out.println("Could not read texture cache entry for " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read the next bytes of a file into a buffer in native byte order
+     *
+     * @throws IOException if the file ends first
+     */
+    private static ByteBuffer readFully(FileChannel channel, int length) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(length).order(ByteOrder.nativeOrder());
+        while (data.hasRemaining()) {
+            if (channel.read(data) < 0) {
+                throw new IOException("entry is truncated");
+            }
+        }
+        data.flip();
+        return data;
+    }
+
+    /**
+     * Write a texture's pixels to the cache, replacing any older entry
+     *
+     * @param image texture as TYPE_INT_ARGB_PRE (see toPremultiplied)
+     */
+    public void store(String name, long sourceHash, BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        ByteBuffer data = ByteBuffer.allocate(HEADER_SIZE + width * height * 4).order(ByteOrder.nativeOrder());
+        data.putInt(MAGIC).putInt(width).putInt(height).putLong(sourceHash);
+        data.asIntBuffer().put(pixels, 0, width * height);
+        data.rewind(); // The pixels went in through a view, write from the header
+
+        Path file = entryPath(name);
+        try {
+            Files.createDirectories(directory);
+
+            // Write beside the entry and move it into place, so a reader never
+            // sees a half-written file
+            Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not write texture cache entry for " + name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Convert an image to premultiplied ARGB with an int pixel array, the
+     * layout the cache stores
+     */
+    public static BufferedImage toPremultiplied(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB_PRE) {
+            return image;
+        }
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(),
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = converted.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return converted;
+    }
+
+    /**
+     * Cache file for an asset path, named after the path so entries are easy
+     * to find
+     */
+    private Path entryPath(String name) {
+        return directory.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".argb");
+    }
+}
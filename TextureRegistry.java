@@ -0,0 +1,232 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the total size of cached textures within a byte budget. Each texture
+ * is a handle that knows how to rebuild its image; the registry tracks the
+ * resident ones in least-recently-used order and drops the oldest
+ * unreferenced images when the budget is exceeded. Dropped images are rebuilt
+ * the next time their handle is asked for them.
+ *
+ * Referenced textures (acquire/release) are never dropped, so owners can pin
+ * what they can't afford to rebuild mid-frame.
+ */
+public class TextureRegistry {
+    private static TextureRegistry instance;
+
+    /**
+     * A texture that can be dropped and rebuilt on demand
+     */
+    public static class Texture {
+        private final String name;
+        private final Supplier<BufferedImage> loader;
+        private BufferedImage image;
+        private boolean loaded = false; // Loaded, possibly to null (nothing to show)
+        private long bytes = 0;
+        private int references = 0;
+
+        private Texture(String name, Supplier<BufferedImage> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        /**
+         * Get the image, rebuilding it if it was dropped or invalidated
+         *
+         * @return the image, or null if the loader had nothing to show
+         */
+        public BufferedImage get() {
+            return getInstance().resolve(this);
+        }
+
+        /**
+         * Pin the image so it isn't dropped while in use
+         */
+        public void acquire() {
+            getInstance().acquire(this);
+        }
+
+        /**
+         * Unpin the image, letting it be dropped when space is needed
+         */
+        public void release() {
+            getInstance().release(this);
+        }
+
+        /**
+         * Drop the image because its contents are out of date, so the next get
+         * rebuilds it
+         */
+        public void invalidate() {
+            getInstance().unload(this);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isResident() {
+            return image != null;
+        }
+
+        public int getReferenceCount() {
+            return references;
+        }
+    }
+
+    // Resident textures, least recently used first
+    private final LinkedHashMap<Texture, Boolean> resident = new LinkedHashMap<>(64, 0.75f, true);
+    private long residentBytes = 0;
+    private long budgetBytes;
+    private int evictions = 0;
+
+    /**
+     * Private constructor for singleton pattern
+     */
+    private TextureRegistry() {
+        budgetBytes = GameSettings.getInstance().getTextureBudgetBytes();
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized TextureRegistry getInstance() {
+        if (instance == null) {
+            instance = new TextureRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Create a texture handle. Nothing is loaded until the first get.
+     *
+     * @param name   label for debugging output
+     * @param loader builds the image, may return null if there is nothing to
+     *               show
+     */
+    public Texture create(String name, Supplier<BufferedImage> loader) {
+        return new Texture(name, loader);
+    }
+
+    private BufferedImage resolve(Texture texture) {
+        synchronized (this) {
+            if (texture.loaded) {
+                if (texture.image != null) {
+                    resident.get(texture); // Mark as most recently used
+                }
+                return texture.image;
+            }
+        }
+
+        // Build outside the lock, so a slow loader on a worker thread doesn't
+        // stall the game thread's gets
+        BufferedImage image = texture.loader.get();
+
+        synchronized (this) {
+            if (texture.loaded) {
+                return texture.image; // Another thread built it first
+            }
+            texture.loaded = true;
+            if (image != null) {
+                texture.image = image;
+                texture.bytes = sizeOf(image);
+                resident.put(texture, Boolean.TRUE);
+                residentBytes += texture.bytes;
+                evictOverBudget(texture);
+            }
+            return image;
+        }
+    }
+
+    private synchronized void acquire(Texture texture) {
+        texture.references++;
+    }
+
+    private synchronized void release(Texture texture) {
+        if (texture.references > 0) {
+            texture.references--;
+        }
+        evictOverBudget(null);
+    }
+
+    /**
+     * Drop a texture's image, whether or not it is referenced
+     */
+    private synchronized void unload(Texture texture) {
+        if (texture.image != null) {
+            resident.remove(texture);
+            residentBytes -= texture.bytes;
+            texture.image.flush();
+            texture.image = null;
+            texture.bytes = 0;
+        }
+        texture.loaded = false;
+    }
+
+    /**
+     * Drop the least recently used unreferenced images until the resident
+     * total fits the budget
+     *
+     * @param keep texture that was just loaded for a caller, never dropped here
+     *             so an oversized texture doesn't reload on every get
+     */
+    private void evictOverBudget(Texture keep) {
+        if (residentBytes <= budgetBytes) {
+            return;
+        }
+
+        List<Texture> victims = new ArrayList<>();
+        long freed = 0;
+        Iterator<Texture> oldestFirst = resident.keySet().iterator();
+        while (residentBytes - freed > budgetBytes && oldestFirst.hasNext()) {
+            Texture texture = oldestFirst.next();
+            if (texture.references == 0 && texture != keep) {
+                victims.add(texture);
+                freed += texture.bytes;
+            }
+        }
+        for (Texture texture : victims) {
+            unload(texture);
+            evictions++;
+        }
+    }
+
+    /**
+     * Heap size of an image's pixel storage. Measured from its data buffer, as
+     * the color model's pixel size undercounts packed formats (TYPE_INT_RGB
+     * has 24 bits per pixel but stores each in an int).
+     */
+    public static long sizeOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    public synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public synchronized int getResidentCount() {
+        return resident.size();
+    }
+
+    public synchronized int getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * Change the budget, dropping images right away if the new one is smaller
+     */
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        evictOverBudget(null);
+    }
+}
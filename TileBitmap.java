@@ -0,0 +1,253 @@
+/**
+ * A grid of solid and empty tiles stored as bits, 64 tiles to a long, one
+ * long[] per row. Takes an eighth of the memory of a boolean[][] and lets
+ * neighbor tests run a word at a time: the tiles to the left or right of a
+ * row are the row's words shifted by one bit.
+ *
+ * Bits past the last column are always clear, and rows or words outside the
+ * grid read as empty, so a layout behaves as if surrounded by empty space.
+ */
+public class TileBitmap {
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+    private final long[][] bits;
+
+    /**
+     * Create an empty bitmap
+     */
+    public TileBitmap(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.wordsPerRow = (columns + 63) >>> 6;
+        this.bits = new long[rows][wordsPerRow];
+    }
+
+    /**
+     * Copy a boolean layout, where true is a solid tile
+     */
+    public static TileBitmap fromArray(boolean[][] layout) {
+        int rows = layout.length;
+        int columns = rows > 0 ? layout[0].length : 0;
+        TileBitmap bitmap = new TileBitmap(rows, columns);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (layout[row][column]) {
+                    bitmap.bits[row][column >>> 6] |= 1L << column;
+                }
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * Copy the tiles out as a boolean layout
+     */
+    public boolean[][] toArray() {
+        boolean[][] layout = new boolean[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                layout[row][column] = get(row, column);
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * Copy this bitmap
+     */
+    public TileBitmap copy() {
+        TileBitmap copy = new TileBitmap(rows, columns);
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(bits[row], 0, copy.bits[row], 0, wordsPerRow);
+        }
+        return copy;
+    }
+
+    /**
+     * Check whether a tile is solid. Tiles outside the grid are empty.
+     */
+    public boolean get(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return false;
+        }
+        return (bits[row][column >>> 6] & (1L << column)) != 0;
+    }
+
+    /**
+     * Make a tile solid or empty
+     */
+    public void set(int row, int column, boolean solid) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("tile " + row + "," + column + " outside " + rows + "x" + columns);
+        }
+        if (solid) {
+            bits[row][column >>> 6] |= 1L << column;
+        } else {
+            bits[row][column >>> 6] &= ~(1L << column);
+        }
+    }
+
+    /**
+     * Make every tile solid
+     */
+    public void fill() {
+        for (int row = 0; row < rows; row++) {
+            setRange(row, 0, columns);
+        }
+    }
+
+    /**
+     * One word of a row: bit k is the tile in column word * 64 + k
+     *
+     * @return the word, or 0 outside the grid
+     */
+    public long getWord(int row, int word) {
+        if (row < 0 || row >= rows || word < 0 || word >= wordsPerRow) {
+            return 0;
+        }
+        return bits[row][word];
+    }
+
+    /**
+     * Replace one word of a row. Bits past the last column are dropped.
+     */
+    public void setWord(int row, int word, long value) {
+        bits[row][word] = word == wordsPerRow - 1 ? value & lastWordMask() : value;
+    }
+
+    /**
+     * The tiles to the left of one word's tiles: bit k is set when the tile in
+     * the column before bit k's is solid
+     */
+    public long leftNeighbors(int row, int word) {
+        return getWord(row, word) << 1 | getWord(row, word - 1) >>> 63;
+    }
+
+    /**
+     * The tiles to the right of one word's tiles: bit k is set when the tile in
+     * the column after bit k's is solid
+     */
+    public long rightNeighbors(int row, int word) {
+        return getWord(row, word) >>> 1 | getWord(row, word + 1) << 63;
+    }
+
+    /**
+     * First solid tile in a row at or after a column
+     *
+     * @return the column, or -1 if there is none
+     */
+    public int nextSet(int row, int fromColumn) {
+        if (fromColumn >= columns) {
+            return -1;
+        }
+        int word = fromColumn >>> 6;
+        long current = bits[row][word] & (-1L << fromColumn);
+        while (current == 0) {
+            if (++word == wordsPerRow) {
+                return -1;
+            }
+            current = bits[row][word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(current);
+    }
+
+    /**
+     * First empty tile in a row at or after a column
+     *
+     * @return the column, or the column count if the rest of the row is solid
+     */
+    public int nextClear(int row, int fromColumn) {
+        if (fromColumn >= columns) {
+            return columns;
+        }
+        int word = fromColumn >>> 6;
+        long current = ~bits[row][word] & (-1L << fromColumn);
+        while (current == 0) {
+            if (++word == wordsPerRow) {
+                return columns;
+            }
+            current = ~bits[row][word];
+        }
+        return Math.min(columns, (word << 6) + Long.numberOfTrailingZeros(current));
+    }
+
+    /**
+     * Check whether every tile in a row from one column (inclusive) to another
+     * (exclusive) is solid
+     */
+    public boolean isRangeSet(int row, int fromColumn, int toColumn) {
+        return nextClear(row, fromColumn) >= toColumn;
+    }
+
+    /**
+     * Make the tiles in a row from one column (inclusive) to another
+     * (exclusive) solid
+     */
+    public void setRange(int row, int fromColumn, int toColumn) {
+        updateRange(row, fromColumn, toColumn, true);
+    }
+
+    /**
+     * Make the tiles in a row from one column (inclusive) to another
+     * (exclusive) empty
+     */
+    public void clearRange(int row, int fromColumn, int toColumn) {
+        updateRange(row, fromColumn, toColumn, false);
+    }
+
+    private void updateRange(int row, int fromColumn, int toColumn, boolean solid) {
+        if (fromColumn >= toColumn) {
+            return;
+        }
+        int firstWord = fromColumn >>> 6;
+        int lastWord = (toColumn - 1) >>> 6;
+        for (int word = firstWord; word <= lastWord; word++) {
+            long mask = -1L;
+            if (word == firstWord) {
+                mask &= -1L << fromColumn;
+            }
+            if (word == lastWord) {
+                mask &= -1L >>> (63 - ((toColumn - 1) & 63));
+            }
+            if (solid) {
+                bits[row][word] |= mask;
+            } else {
+                bits[row][word] &= ~mask;
+            }
+        }
+    }
+
+    /**
+     * Mask of the columns that exist in a row's last word
+     */
+    private long lastWordMask() {
+        int used = columns & 63;
+        return used == 0 ? -1L : (1L << used) - 1;
+    }
+
+    /**
+     * Number of solid tiles
+     */
+    public int count() {
+        int count = 0;
+        for (long[] row : bits) {
+            for (long word : row) {
+                count += Long.bitCount(word);
+            }
+        }
+        return count;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+}
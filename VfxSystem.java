@@ -0,0 +1,260 @@
+/**
+ * Pooled, purely visual effects (death burst, dash trail, landing dust). Each
+ * particle is a slot in a set of primitive arrays, with no collision or entity
+ * overhead, and all of them are written into one pixel overlay so they draw
+ * with a single render command.
+ */
+public class VfxSystem {
+    private static VfxSystem instance;
+
+    private static final int MAX_PARTICLES = 512; // New particles are dropped when the pool is full
+
+    // Effect kinds
+    private static final int KIND_DEATH_BURST = 0;
+    private static final int KIND_DASH_TRAIL = 1;
+    private static final int KIND_LANDING_DUST = 2;
+
+    // Death burst: circles spiralling out from the death position on a log curve
+    private static final int DEATH_BURST_COUNT = 8;
+    private static final double DEATH_BURST_LIFETIME = 0.7; // seconds
+    private static final double DEATH_BURST_LOG_BASE = Math.log(1.07);
+
+    // Dash trail: small puffs left behind the player while dashing
+    private static final int DASH_TRAIL_PER_TICK = 2;
+    private static final int DASH_TRAIL_LIFETIME = 12; // ticks
+
+    // Landing dust: puffs kicked up sideways on a hard landing
+    private static final int LANDING_DUST_COUNT = 12;
+    private static final int LANDING_DUST_LIFETIME = 24; // ticks
+    private static final double LANDING_DUST_GRAVITY = 0.12;
+
+    // Particle data, packed so live particles are always 0..count-1
+    private final int[] kinds = new int[MAX_PARTICLES];
+    private final double[] xs = new double[MAX_PARTICLES];
+    private final double[] ys = new double[MAX_PARTICLES];
+    private final double[] originXs = new double[MAX_PARTICLES]; // Death burst centre
+    private final double[] originYs = new double[MAX_PARTICLES];
+    private final double[] paramA = new double[MAX_PARTICLES]; // X velocity, or log distance for the death burst
+    private final double[] paramB = new double[MAX_PARTICLES]; // Y velocity, or angle in degrees for the death burst
+    private final double[] sizes = new double[MAX_PARTICLES]; // Size in pixels, or scale percentage for the death burst
+    private final int[] gravity = new int[MAX_PARTICLES]; // Gravity direction (1 or -1) for dust
+    private final int[] ages = new int[MAX_PARTICLES]; // Ticks alive
+    private final long[] spawnTimes = new long[MAX_PARTICLES]; // nanoTime at spawn, for time-based effects
+    private int count = 0;
+
+    // Overlay covering the visible area that every particle is written into
+    private final PixelOverlay overlay = new PixelOverlay(
+            GameSettings.getInstance().getBaseWidth() + 128, GameSettings.getInstance().getBaseHeight() + 128);
+
+    /**
+     * Private constructor for singleton pattern
+     */
+    private VfxSystem() {
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static VfxSystem getInstance() {
+        if (instance == null) {
+            instance = new VfxSystem();
+        }
+        return instance;
+    }
+
+    /**
+     * Take the next free particle slot
+     *
+     * @return the slot index, or -1 if the pool is full
+     */
+    private int spawn(int kind, double x, double y) {
+        if (count == MAX_PARTICLES) {
+            return -1;
+        }
+        int index = count++;
+        kinds[index] = kind;
+        xs[index] = x;
+        ys[index] = y;
+        ages[index] = 0;
+        spawnTimes[index] = System.nanoTime();
+        return index;
+    }
+
+    /**
+     * Burst of circles spiralling out from where the player died, at 45-degree
+     * intervals
+     */
+    public void spawnDeathBurst(double x, double y) {
+        for (int i = 0; i < DEATH_BURST_COUNT; i++) {
+            int index = spawn(KIND_DEATH_BURST, x, y);
+            if (index < 0)
+                return;
+            originXs[index] = x;
+            originYs[index] = y;
+            paramA[index] = 1.0; // Start with small log distance
+            paramB[index] = i * 360.0 / DEATH_BURST_COUNT;
+            sizes[index] = 1.0; // Scale percentage, grows each tick
+        }
+    }
+
+    /**
+     * Puffs left behind a dashing body, drifting away from the dash direction
+     *
+     * @param height    height of the body the puffs are spread over
+     * @param direction dash direction, 1 for right and -1 for left
+     */
+    public void spawnDashTrail(double x, double y, double height, int direction) {
+        for (int i = 0; i < DASH_TRAIL_PER_TICK; i++) {
+            int index = spawn(KIND_DASH_TRAIL, x, y + (Math.random() - 0.5) * height * 0.8);
+            if (index < 0)
+                return;
+            paramA[index] = -direction * (0.5 + Math.random() * 1.5);
+            paramB[index] = (Math.random() - 0.5) * 0.4;
+            sizes[index] = 4 + Math.random() * 4;
+        }
+    }
+
+    /**
+     * Dust kicked up sideways from where a body landed
+     *
+     * @param swap gravity direction (1 = normal, -1 = inverted), so dust rises
+     *             away from the ground either way
+     */
+    public void spawnLandingDust(double x, double footY, int swap) {
+        for (int i = 0; i < LANDING_DUST_COUNT; i++) {
+            int index = spawn(KIND_LANDING_DUST, x + (Math.random() - 0.5) * 20, footY);
+            if (index < 0)
+                return;
+            double side = i % 2 == 0 ? 1 : -1;
+            paramA[index] = side * (0.8 + Math.random() * 2.5);
+            paramB[index] = -swap * (0.8 + Math.random() * 1.6);
+            sizes[index] = 3 + Math.random() * 4;
+            gravity[index] = swap;
+        }
+    }
+
+    /**
+     * Move every particle and drop the ones that have expired
+     */
+    public void update() {
+        long now = System.nanoTime();
+        int index = 0;
+        while (index < count) {
+            ages[index]++;
+            boolean alive = switch (kinds[index]) {
+                case KIND_DEATH_BURST -> updateDeathBurst(index, now);
+                case KIND_DASH_TRAIL -> {
+                    xs[index] += paramA[index];
+                    ys[index] += paramB[index];
+                    yield ages[index] < DASH_TRAIL_LIFETIME;
+                }
+                case KIND_LANDING_DUST -> {
+                    xs[index] += paramA[index];
+                    ys[index] += paramB[index];
+                    paramA[index] *= 0.92; // Air drag
+                    paramB[index] += gravity[index] * LANDING_DUST_GRAVITY;
+                    yield ages[index] < LANDING_DUST_LIFETIME;
+                }
+                default -> false;
+            };
+
+            if (alive) {
+                index++;
+            } else {
+                // Move the last particle into this slot and check it next
+                remove(index);
+            }
+        }
+    }
+
+    /**
+     * Advance a death burst circle along its spiral
+     *
+     * @return false once it has run its course
+     */
+    private boolean updateDeathBurst(int index, long now) {
+        double logDist = paramA[index];
+        double angle = paramB[index];
+        double lifetime = (now - spawnTimes[index]) / 1_000_000_000.0;
+
+        // Position from the log distance and angle
+        double dist = Math.log(logDist) / DEATH_BURST_LOG_BASE;
+        double radians = Math.toRadians(angle);
+        xs[index] = originXs[index] + dist * Math.cos(radians);
+        ys[index] = originYs[index] + dist * Math.sin(radians);
+
+        // Curl and grow for the next tick
+        paramB[index] = (angle + (0.9 - lifetime) * 6) % 360;
+        paramA[index] = logDist + 4;
+        sizes[index] = Math.min(sizes[index] + 2, 60);
+
+        return lifetime <= DEATH_BURST_LIFETIME;
+    }
+
+    /**
+     * Swap-remove a particle
+     */
+    private void remove(int index) {
+        int last = --count;
+        if (index == last)
+            return;
+        kinds[index] = kinds[last];
+        xs[index] = xs[last];
+        ys[index] = ys[last];
+        originXs[index] = originXs[last];
+        originYs[index] = originYs[last];
+        paramA[index] = paramA[last];
+        paramB[index] = paramB[last];
+        sizes[index] = sizes[last];
+        gravity[index] = gravity[last];
+        ages[index] = ages[last];
+        spawnTimes[index] = spawnTimes[last];
+    }
+
+    /**
+     * Write every particle into the overlay and record it as one image command
+     */
+    public void submit(RenderQueue queue, Camera camera) {
+        if (count == 0)
+            return;
+
+        overlay.begin((int) Math.floor(camera.getVisibleLeft()), (int) Math.floor(camera.getVisibleTop()));
+        for (int i = 0; i < count; i++) {
+            int x = (int) xs[i];
+            int y = (int) ys[i];
+            switch (kinds[i]) {
+                case KIND_DEATH_BURST -> {
+                    int diameter = (int) (30 * sizes[i] / 100.0);
+                    overlay.fillCircle(x, y, diameter, 255, 255, 255, 255);
+                }
+                case KIND_DASH_TRAIL -> {
+                    int size = (int) sizes[i];
+                    double fade = 1.0 - (double) ages[i] / DASH_TRAIL_LIFETIME;
+                    overlay.fillRect(x - size / 2, y - size / 2, size, size, 255, 255, 255, (int) (170 * fade));
+                }
+                case KIND_LANDING_DUST -> {
+                    int size = (int) sizes[i];
+                    double fade = 1.0 - (double) ages[i] / LANDING_DUST_LIFETIME;
+                    overlay.fillRect(x - size / 2, y - size / 2, size, size, 200, 195, 185, (int) (200 * fade));
+                }
+                default -> {
+                }
+            }
+        }
+        overlay.submit(queue, RenderQueue.LAYER_PROJECTILES, 1);
+    }
+
+    /**
+     * Remove every particle (level change)
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Number of live particles
+     */
+    public int getParticleCount() {
+        return count;
+    }
+}
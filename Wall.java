@@ -1,7 +1,6 @@
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.io.IOException;
 
 /**
@@ -10,6 +9,7 @@ import java.io.IOException;
 public class Wall extends GameObject {
     private Color color = Color.BLACK;
     private float alpha = 1.0f; // Full opacity by default
+    private AlphaComposite alphaComposite; // Cached composite for alpha, null when fully opaque
 
     // Sprite support for platform tiles
     private BufferedImage sprite;
@@ -38,7 +38,7 @@ public class Wall extends GameObject {
     public Wall(double x, double y, double width, double height, Color color, float alpha) {
         super(x, y, width, height);
         this.color = color;
-        this.alpha = Math.max(0.0f, Math.min(1.0f, alpha)); // Clamp alpha between 0 and 1
+        setAlpha(alpha);
     }
 
     /**
@@ -58,7 +58,7 @@ public class Wall extends GameObject {
     private void loadSprite() {
         if (spritePath != null && !spritePath.isEmpty()) {
             try {
-                this.sprite = ImageIO.read(getClass().getResourceAsStream(spritePath));
+                this.sprite = AssetLoader.getInstance().getImage(spritePath);
             } catch (IOException | IllegalArgumentException e) {
                 System.out.println("Could not load wall sprite: " + spritePath);
                 this.useSprite = false;
@@ -124,6 +124,44 @@ public class Wall extends GameObject {
         }
     }
 
+    /**
+     * Record this wall's draw calls. Plain colored walls become fill commands;
+     * sprite walls (which may be rotated) draw themselves.
+     */
+    @Override
+    public void submit(RenderQueue queue, int layer) {
+        if (!active)
+            return;
+
+        if (useSprite && sprite != null) {
+            super.submit(queue, layer);
+        } else {
+            queue.fillRect(layer, 0, (int) x, (int) y, (int) width, (int) height, color, alphaComposite);
+        }
+    }
+
+    /**
+     * Check if drawing this wall would put anything on screen at all
+     * (fully transparent collision walls never need to be submitted)
+     */
+    public boolean isVisible() {
+        if (!active || alpha <= 0.0f) {
+            return false;
+        }
+        if (useSprite && sprite != null) {
+            return true;
+        }
+        return color != null && color.getAlpha() > 0;
+    }
+
+    /**
+     * Walls are positioned by top-left corner
+     */
+    @Override
+    public boolean isOnScreen(Camera camera) {
+        return camera.isVisible(x, y, width, height);
+    }
+
     /**
      * Draw this wall to a specific image at given coordinates
      * Used for pre-rendering platform layers
@@ -172,7 +210,9 @@ public class Wall extends GameObject {
     }
 
     public void setAlpha(float alpha) {
-        this.alpha = Math.max(0.0f, Math.min(1.0f, alpha));
+        this.alpha = Math.max(0.0f, Math.min(1.0f, alpha)); // Clamp alpha between 0 and 1
+        this.alphaComposite = this.alpha < 1.0f ? AlphaComposite.getInstance(AlphaComposite.SRC_OVER, this.alpha)
+                : null;
     }
 
     public String getSpritePath() {
@@ -1,7 +1,7 @@
 import java.awt.*;
 import java.awt.geom.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
+import java.awt.image.DataBufferInt;
 import java.io.IOException;
 import java.util.*;
 
@@ -10,6 +10,7 @@ import java.util.*;
  */
 public class WaterBoundary {
     private static WaterBoundary instance; // Water boundary properties
+    public static final String TEXTURE_PATH = "/textures/Pink water.png";
     private static final double WATER_LEVEL = 0.0; // Y coordinate of water surface (center line)
     private static final double WATER_DEPTH = 580.0; // How deep the water effect extends
     private static final int WATER_SEGMENTS = 150; // Number of segments for water surface
@@ -23,6 +24,7 @@ public class WaterBoundary {
     private static final int BATCH_CLEANUP_SIZE = 10; // Number of particles to remove in one pass when over threshold//
                                                       // Water texture properties
     private BufferedImage waterTexture;
+    private TexturePaint waterTexturePaint; // Texture stretched across the whole water body, built once
     private boolean textureLoaded = false; // Frame timing for shimmer effect
     // animations)
     private int shimmerAnimationTimer = 0;
@@ -34,6 +36,40 @@ public class WaterBoundary {
     private int shimmerPatternWidth = 0;
     private int shimmerPatternHeight = 0;
 
+    // Shimmer is baked into a strip image whenever the pattern changes, then faded
+    // around the camera with a pre-rendered radial mask
+    private static final int SHIMMER_SEGMENT_WIDTH = 12;
+    private static final int SHIMMER_ROWS = 30; // Rows deeper than this are fully transparent
+    private static final int SHIMMER_STRIP_HEIGHT = 256; // Covers all rows plus their vertical wobble
+    private static final int SHIMMER_STRIP_MARGIN = 8; // Room for the horizontal wobble at the level edges
+    private static final double SHIMMER_FADE_DISTANCE = 500.0; // Distance from camera center where alpha hits 0
+    private static final int SHIMMER_MASK_RADIUS = 440; // Beyond this every segment is below the alpha cutoff
+    private BufferedImage shimmerStrip;
+    private int shimmerStripLeft;
+    private int bakedShimmerFrame = -1;
+    private final boolean[] shimmerRowUsed = new boolean[SHIMMER_STRIP_HEIGHT]; // Strip rows holding any line
+    private BufferedImage shimmerMask; // Fade around the camera center, as alpha
+    private BufferedImage shimmerScratch;
+
+    // Overlay covering the visible area that particles and splashes are written into
+    private final PixelOverlay effectOverlay = new PixelOverlay(
+            GameSettings.getInstance().getBaseWidth() + 128, GameSettings.getInstance().getBaseHeight() + 128);
+
+    // Surface drawing needs its paint and stroke, so it is a custom render command
+    private final RenderQueue.Drawable surfaceDrawable = this::drawWaterSurface;
+
+    // Reusable surface polygon (segments plus the two bottom corners)
+    private final int[] surfaceXPoints = new int[WATER_SEGMENTS + 2];
+    private final int[] surfaceYPoints = new int[WATER_SEGMENTS + 2];
+
+    // Cached surface drawing state
+    private static final AlphaComposite WATER_BODY_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
+            0.5f);
+    private static final Color SURFACE_LINE_COLOR = new Color(240, 142, 254, 120);
+    private static final BasicStroke SURFACE_LINE_STROKE = new BasicStroke(2.0f, BasicStroke.CAP_SQUARE,
+            BasicStroke.JOIN_MITER);
+    private static final Color[] FALLBACK_BAND_COLORS = createFallbackBandColors();
+
     /**
      * Individual water segment for random surface simulation
      */
@@ -105,7 +141,7 @@ public class WaterBoundary {
         public double vx, vy;
         public double life;
         public double maxLife;
-        public Color color;
+        public int alpha; // Base alpha of the water pink color
         public int gravitySwap; // Track gravity direction for this particle
 
         private static final double GRAVITY = 0.4; // Gravity strength
@@ -119,8 +155,7 @@ public class WaterBoundary {
             this.life = life;
             this.maxLife = life;
             this.gravitySwap = gravitySwap; // Water pink color with transparency
-            int alpha = (int) (180 + Math.random() * 75);
-            this.color = new Color(240, 142, 254, alpha);
+            this.alpha = (int) (180 + Math.random() * 75);
 
         }
 
@@ -207,7 +242,7 @@ public class WaterBoundary {
      */
     public static WaterBoundary getInstance() {
         if (instance == null) {
-            instance = new WaterBoundary();
+            instance = StartupTrace.time("WaterBoundary init", WaterBoundary::new);
         }
         return instance;
     }
@@ -217,16 +252,44 @@ public class WaterBoundary {
      */
     private void loadWaterTexture() {
         try {
-            waterTexture = ImageIO.read(getClass().getResourceAsStream("/textures/Pink water.png"));
+            waterTexture = AssetLoader.getInstance().getImage(TEXTURE_PATH);
             textureLoaded = true;
+
+            // Texture paint that covers the entire level width, so it stretches across the
+            // whole map
+            GameSettings settings = GameSettings.getInstance();
+            double levelLeft = settings.getLevelLeft();
+            double levelRight = settings.getLevelRight() + 50; // Match the water segments extension
+            if (waterTexture != null) {
+                waterTexturePaint = new TexturePaint(waterTexture,
+                        new Rectangle2D.Double(levelLeft, WATER_LEVEL, levelRight - levelLeft, WATER_DEPTH));
+            }
             System.out.println("load pink water texture successfully");
         } catch (IOException | IllegalArgumentException e) {
             System.out.println("Could not load pink water texture: " + e.getMessage());
             textureLoaded = false;
             waterTexture = null;
+            waterTexturePaint = null;
         }
     }
 
+    /**
+     * Build the colors for the pixelated gradient used when the texture is missing
+     */
+    private static Color[] createFallbackBandColors() {
+        int gradientSteps = 8; // Number of distinct color bands
+        Color[] colors = new Color[gradientSteps];
+        for (int i = 0; i < gradientSteps; i++) {
+            float ratio = (float) i / gradientSteps;
+            int red = (int) (255 - ratio * 55); // 255 to 200
+            int green = (int) (100 - ratio * 50); // 100 to 50
+            int blue = (int) (150 - ratio * 50); // 150 to 100
+            int alpha = (int) (80 + ratio * 40); // 80 to 120 (reduced from 120-180 for more translucency)
+            colors[i] = new Color(red, green, blue, alpha);
+        }
+        return colors;
+    }
+
     /**
      * Initialize water segments across the level width
      */
@@ -596,18 +659,21 @@ public class WaterBoundary {
     }
 
     /**
-     * Draw the water boundary effect
+     * Submit the water boundary effect on the queue's water layer. The pieces
+     * use increasing z so they keep their drawing order. Pixelated rendering
+     * hints are set by the queue once per frame.
      */
-    public void draw(Graphics2D g) {
-        // Use pixelated rendering for retro effect
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-
-        drawWaterSurface(g);
-        drawWaterParticles(g);
-        drawSplashes(g);
-        drawWaterDepth(g);
+    public void submit(RenderQueue queue) {
+        queue.drawCustom(RenderQueue.LAYER_WATER, 0, surfaceDrawable);
+
+        // Particles and splashes are written into one overlay and composited once
+        Camera camera = Camera.getInstance();
+        effectOverlay.begin((int) Math.floor(camera.getVisibleLeft()), (int) Math.floor(camera.getVisibleTop()));
+        drawWaterParticles();
+        drawSplashes();
+        effectOverlay.submit(queue, RenderQueue.LAYER_WATER, 1);
+
+        submitWaterDepth(queue);
     }
 
     /**
@@ -616,111 +682,67 @@ public class WaterBoundary {
     private void drawWaterSurface(Graphics g2d) {
         Graphics2D g = (Graphics2D) g2d;
 
-        // Set pixelated rendering for water surface
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-
-        if (waterSegments.size() < 2)
+        int segmentCount = waterSegments.size();
+        if (segmentCount < 2)
             return;
 
-        // Create pixelated water surface using stepped lines instead of smooth curves
-        GeneralPath waterPath = new GeneralPath();
-
-        // Start path
-        WaterSegment first = waterSegments.get(0);
-        waterPath.moveTo(first.x, first.y);
-
-        // Create stepped/pixelated surface instead of smooth curves
-        for (int i = 1; i < waterSegments.size(); i++) {
+        // Create pixelated water surface using stepped lines instead of smooth curves,
+        // written into the reusable polygon arrays
+        for (int i = 0; i < segmentCount; i++) {
             WaterSegment current = waterSegments.get(i);
 
             // Round Y position to create pixelated steps
-            double pixelatedY = Math.round(current.y / 2) * 2;
-            waterPath.lineTo(current.x, pixelatedY);
+            surfaceXPoints[i] = (int) current.x;
+            surfaceYPoints[i] = (int) (Math.round(current.y / 2) * 2);
         }
 
-        // Close path for filling (extend down for water body)
-        WaterSegment last = waterSegments.get(waterSegments.size() - 1);
-        waterPath.lineTo(last.x, WATER_LEVEL + WATER_DEPTH);
-        waterPath.lineTo(first.x, WATER_LEVEL + WATER_DEPTH);
-        waterPath.closePath();
+        // Close polygon for filling (extend down for water body)
+        int bottomY = (int) (WATER_LEVEL + WATER_DEPTH);
+        surfaceXPoints[segmentCount] = surfaceXPoints[segmentCount - 1];
+        surfaceYPoints[segmentCount] = bottomY;
+        surfaceXPoints[segmentCount + 1] = surfaceXPoints[0];
+        surfaceYPoints[segmentCount + 1] = bottomY;
 
         // Fill water body with texture or gradient fallback
-        if (textureLoaded && waterTexture != null) {
-            // Get the actual water area bounds - entire level width
-            GameSettings settings = GameSettings.getInstance();
-            double levelLeft = settings.getLevelLeft();
-            double levelRight = settings.getLevelRight() + 50; // Match the water segments extension
-            double levelWidth = levelRight - levelLeft;
-
-            // Create texture paint that covers the entire level width
-            // This will stretch/tile the texture across the whole map
-            Rectangle2D textureRect = new Rectangle2D.Double(levelLeft, WATER_LEVEL, levelWidth, WATER_DEPTH);
-            TexturePaint texturePaint = new TexturePaint(waterTexture, textureRect); // Apply more transparency to blend
-                                                                                     // with the water effects and show
-                                                                                     // elements underneath
-            AlphaComposite originalComposite = (AlphaComposite) g.getComposite();
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
+        if (waterTexturePaint != null) {
+            // Apply more transparency to blend with the water effects and show elements
+            // underneath
+            Composite originalComposite = g.getComposite();
+            g.setComposite(WATER_BODY_COMPOSITE);
 
-            g.setPaint(texturePaint);
-            g.fill(waterPath);
+            g.setPaint(waterTexturePaint);
+            g.fillPolygon(surfaceXPoints, surfaceYPoints, segmentCount + 2);
 
             g.setComposite(originalComposite);
         } else {
             // Fallback to pixelated gradient if texture loading failed
-            int gradientSteps = 8; // Number of distinct color bands
-            double stepHeight = WATER_DEPTH / gradientSteps;
-
-            for (int i = 0; i < gradientSteps; i++) {
-                float ratio = (float) i / gradientSteps;
-                int red = (int) (255 - ratio * 55); // 255 to 200
-                int green = (int) (100 - ratio * 50); // 100 to 50
-                int blue = (int) (150 - ratio * 50); // 150 to 100
-                int alpha = (int) (80 + ratio * 40); // 80 to 120 (reduced from 120-180 for more translucency)
-
-                Color bandColor = new Color(red, green, blue, alpha);
-                g.setColor(bandColor);
-
-                Rectangle2D band = new Rectangle2D.Double(
-                        first.x, WATER_LEVEL + i * stepHeight,
-                        last.x - first.x, stepHeight + 1 // +1 to avoid gaps
-                );
-                g.fill(band);
+            double stepHeight = WATER_DEPTH / FALLBACK_BAND_COLORS.length;
+            int left = surfaceXPoints[0];
+            int width = surfaceXPoints[segmentCount - 1] - left;
+
+            for (int i = 0; i < FALLBACK_BAND_COLORS.length; i++) {
+                g.setColor(FALLBACK_BAND_COLORS[i]);
+                int bandTop = (int) (WATER_LEVEL + i * stepHeight);
+                g.fillRect(left, bandTop, width, (int) stepHeight + 1); // +1 to avoid gaps
             }
-        } // Draw pixelated water surface line with reduced opacity
-        g.setColor(new Color(240, 142, 254, 120)); // Reduced alpha from 200 to 120
-        g.setStroke(new BasicStroke(2.0f, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER));
-
-        // Draw stepped surface line
-        for (int i = 0; i < waterSegments.size() - 1; i++) {
-            WaterSegment current = waterSegments.get(i);
-            WaterSegment next = waterSegments.get(i + 1);
-
-            // Round Y positions for pixelated effect
-            double y1 = Math.round(current.y / 2) * 2;
-            double y2 = Math.round(next.y / 2) * 2;
-            g.drawLine((int) current.x, (int) y1, (int) next.x, (int) y2);
         }
+
+        // Draw pixelated water surface line with reduced opacity
+        g.setColor(SURFACE_LINE_COLOR);
+        g.setStroke(SURFACE_LINE_STROKE);
+        g.drawPolyline(surfaceXPoints, surfaceYPoints, segmentCount);
     }
 
     /**
      * Draw water particles
      */
-    private void drawWaterParticles(Graphics2D g) {
-        // Set pixelated rendering for particles
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-
+    private void drawWaterParticles() {
         for (WaterParticle particle : waterParticles) {
             double opacity = particle.getOpacity();
             if (opacity <= 0)
                 continue;
 
-            // Set particle transparency
-            AlphaComposite originalComposite = (AlphaComposite) g.getComposite();
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) opacity));
-
             // Draw particle as pixelated squares instead of circles
-            g.setColor(particle.color);
             int size = (int) (4 + opacity * 4); // Reduced size for pixel effect
 
             // Make size even for clean pixel squares
@@ -735,40 +757,32 @@ public class WaterBoundary {
             x = (x / 2) * 2;
             y = (y / 2) * 2;
 
-            g.fillRect(x, y, size, size);
+            // Particle alpha is faded by its remaining life
+            effectOverlay.fillRect(x, y, size, size, 240, 142, 254, (int) (particle.alpha * opacity));
 
             // Add a white highlight pixel in the center
-            g.setColor(new Color(255, 255, 255, (int) (opacity * 150)));
             int highlightSize = Math.max(2, size / 2);
             highlightSize = (highlightSize / 2) * 2; // Make even
 
             int highlightX = x + (size - highlightSize) / 2;
             int highlightY = y + (size - highlightSize) / 2;
 
-            g.fillRect(highlightX, highlightY, highlightSize, highlightSize);
-
-            g.setComposite(originalComposite);
+            effectOverlay.fillRect(highlightX, highlightY, highlightSize, highlightSize, 255, 255, 255,
+                    (int) (opacity * 150 * opacity));
         }
     }
 
     /**
      * Draw splash effects
      */
-    private void drawSplashes(Graphics2D g) {
-        // Set pixelated rendering for splashes
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-
+    private void drawSplashes() {
         for (WaterSplash splash : splashes) {
             double opacity = splash.getOpacity();
             if (opacity <= 0)
                 continue;
 
-            // Set splash transparency
-            AlphaComposite originalComposite = (AlphaComposite) g.getComposite();
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) opacity));
-
-            // Draw splash as pixelated ring using rectangles
-            g.setColor(new Color(240, 142, 254, (int) (opacity * 100)));
+            // Splash color alpha is faded by the splash opacity
+            int alpha = (int) (opacity * 100 * opacity);
 
             int radius = (int) splash.radius;
             int thickness = Math.max(2, (int) (4 * opacity)); // Pixelated thickness
@@ -784,20 +798,16 @@ public class WaterBoundary {
                 x = (x / 2) * 2;
                 y = (y / 2) * 2;
 
-                g.fillRect(x - thickness / 2, y - thickness / 2, thickness, thickness);
+                effectOverlay.fillRect(x - thickness / 2, y - thickness / 2, thickness, thickness, 240, 142, 254,
+                        alpha);
             }
-
-            g.setComposite(originalComposite);
         }
     }
 
     /**
-     * Draw water depth and reflection effects
+     * Submit water depth and reflection effects
      */
-    private void drawWaterDepth(Graphics2D g) {
-        // Set pixelated rendering for water depth effects
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-
+    private void submitWaterDepth(RenderQueue queue) {
         GameSettings settings = GameSettings.getInstance();
         double levelLeft = settings.getLevelLeft();
         double levelRight = settings.getLevelRight(); // Draw pixelated reflection/shimmer lines using rectangles
@@ -805,16 +815,18 @@ public class WaterBoundary {
         // lines
 
         // Calculate pattern dimensions
-        int segmentWidth = 12;
-        int patternWidth = (int) Math.ceil((levelRight - levelLeft) / segmentWidth);
+        int patternWidth = (int) Math.ceil((levelRight - levelLeft) / SHIMMER_SEGMENT_WIDTH);
         int patternHeight = settings.getLevelHeight() / 10;
 
-        // Initialize or regenerate pattern every few frames
-        if (shimmerPattern == null || shimmerAnimationTimer == 0 ||
+        // Regenerate and re-bake the pattern every few frames
+        if (shimmerPattern == null || bakedShimmerFrame != shimmerFrame ||
                 shimmerPatternWidth != patternWidth || shimmerPatternHeight != patternHeight) {
             shimmerPatternWidth = patternWidth;
             shimmerPatternHeight = patternHeight;
-            shimmerPattern = new boolean[patternHeight][patternWidth];
+            if (shimmerPattern == null || shimmerPattern.length != patternHeight
+                    || shimmerPattern[0].length != patternWidth) {
+                shimmerPattern = new boolean[patternHeight][patternWidth];
+            }
 
             // Generate new random pattern
             for (int i = 0; i < patternHeight; i++) {
@@ -822,59 +834,137 @@ public class WaterBoundary {
                     shimmerPattern[i][j] = Math.random() > 0.4; // chance to show segment
                 }
             }
-        } // Get camera position for distance-based transparency calculations
-        Camera camera = Camera.getInstance();
-        double cameraX = camera.getCameraX();
-        double cameraY = camera.getCameraY();
 
-        // Get screen dimensions for camera center calculations
-        int screenWidth = settings.getBaseWidth();
-        int screenHeight = settings.getBaseHeight();
+            bakeShimmerStrip((int) levelLeft, patternWidth);
+            bakedShimmerFrame = shimmerFrame;
+        }
 
-        // Draw using the stored pattern with distance-based transparency
-        for (int i = 0; i < Math.min(patternHeight, shimmerPattern.length); i++) {
-            if (30 - i <= 0) {
-                break; // Stop when transparency is too low
+        // Get camera center for distance-based transparency
+        Camera camera = Camera.getInstance();
+        int centerX = (int) (camera.getCameraX() + settings.getBaseWidth() / 2.0);
+        int centerY = (int) (camera.getCameraY() + settings.getBaseHeight() / 2.0);
+
+        int stripTop = (int) WATER_LEVEL;
+        int maskTop = centerY - SHIMMER_MASK_RADIUS - stripTop; // Mask top in strip coordinates
+        int maskBottom = maskTop + 2 * SHIMMER_MASK_RADIUS;
+        if (maskBottom <= 0 || maskTop >= SHIMMER_STRIP_HEIGHT) {
+            return; // Camera is too far from the shimmer for any of it to show
+        }
+
+        if (shimmerMask == null) {
+            shimmerMask = createShimmerMask();
+            shimmerScratch = new BufferedImage(2 * SHIMMER_MASK_RADIUS, SHIMMER_STRIP_HEIGHT,
+                    BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        // Copy the part of the strip around the camera into the scratch image, then
+        // fade it out with distance from the camera center by multiplying in the mask.
+        // Only runs of rows that hold lines are copied and masked: they are about a
+        // quarter of the strip, and the DstIn blend is the costly step.
+        int regionLeft = centerX - SHIMMER_MASK_RADIUS;
+        int maskSize = 2 * SHIMMER_MASK_RADIUS;
+        int copyTop = Math.max(0, maskTop);
+        int copyBottom = Math.min(SHIMMER_STRIP_HEIGHT, maskBottom);
+
+        Graphics2D g2d = shimmerScratch.createGraphics();
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, maskSize, SHIMMER_STRIP_HEIGHT);
+        int row = copyTop;
+        while (row < copyBottom) {
+            if (!shimmerRowUsed[row]) {
+                row++;
+                continue;
             }
+            int runTop = row;
+            while (row < copyBottom && shimmerRowUsed[row]) {
+                row++;
+            }
+            g2d.setClip(0, runTop, maskSize, row - runTop);
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.drawImage(shimmerStrip, shimmerStripLeft - regionLeft, 0, null);
+            g2d.setComposite(AlphaComposite.DstIn);
+            g2d.drawImage(shimmerMask, 0, maskTop, null);
+        }
+        g2d.dispose();
 
+        queue.drawImage(RenderQueue.LAYER_WATER, 2, shimmerScratch, regionLeft, stripTop);
+    }
+
+    /**
+     * Bake the current shimmer pattern into the strip image by writing its
+     * pixels directly. Each row keeps its depth-based alpha; the camera fade is
+     * applied when drawing.
+     */
+    private void bakeShimmerStrip(int levelLeft, int patternWidth) {
+        int stripWidth = patternWidth * SHIMMER_SEGMENT_WIDTH + 2 * SHIMMER_STRIP_MARGIN;
+        if (shimmerStrip == null || shimmerStrip.getWidth() != stripWidth) {
+            shimmerStrip = new BufferedImage(stripWidth, SHIMMER_STRIP_HEIGHT, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        shimmerStripLeft = levelLeft - SHIMMER_STRIP_MARGIN;
+
+        int[] pixels = ((DataBufferInt) shimmerStrip.getRaster().getDataBuffer()).getData();
+        Arrays.fill(pixels, 0);
+        Arrays.fill(shimmerRowUsed, false);
+
+        int lineHeight = 2;
+        for (int i = 0; i < Math.min(SHIMMER_ROWS, shimmerPattern.length); i++) {
             double y = WATER_LEVEL + 10 + i * 8;
             double offsetX = Math.sin(shimmerFrame * 0.2 + i) * 3;
 
             // Round offset
             offsetX = Math.round(offsetX / 2) * 2;
             double offsetY = Math.sin(shimmerFrame * 0.6 + i) * 3;
-            int lineY = (int) (y + offsetY);
-            int lineHeight = 2;
+            int lineY = (int) (y + offsetY) - (int) WATER_LEVEL;
 
-            int segmentIndex = 0;
-            for (int x = (int) levelLeft; x < levelRight
-                    && segmentIndex < shimmerPattern[i].length; x += segmentWidth, segmentIndex++) {
+            // Deeper rows are fainter (premultiplied to match the strip format)
+            int baseAlpha = 40 - i;
+            int argb = (baseAlpha << 24) | ((255 * baseAlpha / 255) << 16) | ((200 * baseAlpha / 255) << 8)
+                    | (230 * baseAlpha / 255);
+
+            for (int segmentIndex = 0; segmentIndex < shimmerPattern[i].length; segmentIndex++) {
                 // Use the stored random pattern that only updates every few frames
-                if (shimmerPattern[i][segmentIndex]) {
-                    // Calculate distance from camera to this shimmer segment
-                    double shimmerX = x + offsetX;
-                    double distanceX = shimmerX - (cameraX + screenWidth / 2.0); // Camera center X
-                    double distanceY = lineY - (cameraY + screenHeight / 2.0); // Camera center Y
-                    double distance = Math.sqrt(distanceX * distanceX + distanceY * distanceY);
-
-                    // Calculate distance-based transparency factor (closer = more opaque)
-                    // Max visible distance of about 800 pixels from camera center
-                    double maxDistance = 500.0;
-                    double distanceFactor = Math.max(0.1, 1.0 - (distance / maxDistance));
-
-                    // Apply distance factor to the base alpha, maintaining the depth fade
-                    int baseAlpha = 40 - i;
-                    int finalAlpha = (int) (baseAlpha * distanceFactor);
-
-                    if (finalAlpha > 5) { // Only draw if alpha is significant enough
-                        g.setColor(new Color(255, 200, 230, finalAlpha));
-                        g.fillRect((int) shimmerX, lineY, segmentWidth, lineHeight);
+                if (!shimmerPattern[i][segmentIndex]) {
+                    continue;
+                }
+
+                int startX = SHIMMER_STRIP_MARGIN + segmentIndex * SHIMMER_SEGMENT_WIDTH + (int) offsetX;
+                for (int row = lineY; row < lineY + lineHeight; row++) {
+                    if (row < 0 || row >= SHIMMER_STRIP_HEIGHT) {
+                        continue;
                     }
+                    int rowOffset = row * stripWidth;
+                    Arrays.fill(pixels, rowOffset + Math.max(0, startX),
+                            rowOffset + Math.min(stripWidth, startX + SHIMMER_SEGMENT_WIDTH), argb);
+                    shimmerRowUsed[row] = true;
                 }
             }
         }
     }
 
+    /**
+     * Create the radial alpha mask used to fade shimmer with distance from the
+     * camera center. Matches the old per-segment falloff: linear to 0 at
+     * SHIMMER_FADE_DISTANCE, with faint segments (alpha 5 or less) dropped.
+     */
+    private static BufferedImage createShimmerMask() {
+        int size = 2 * SHIMMER_MASK_RADIUS;
+        BufferedImage mask = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) mask.getRaster().getDataBuffer()).getData();
+
+        // The brightest row has alpha 40, so anything below this factor rounds away
+        double cutoff = 6.0 / 40.0;
+        for (int py = 0; py < size; py++) {
+            for (int px = 0; px < size; px++) {
+                double dx = px + 0.5 - SHIMMER_MASK_RADIUS;
+                double dy = py + 0.5 - SHIMMER_MASK_RADIUS;
+                double factor = 1.0 - Math.sqrt(dx * dx + dy * dy) / SHIMMER_FADE_DISTANCE;
+                int alpha = factor < cutoff ? 0 : (int) Math.round(factor * 255);
+                pixels[py * size + px] = alpha << 24 | alpha << 16 | alpha << 8 | alpha; // Premultiplied white
+            }
+        }
+        return mask;
+    }
+
     /**
      * Get the water level Y coordinate
      */
@@ -16,6 +16,12 @@ xcopy /E /Y "Sprites\*" "bin\Sprites\" >nul 2>&1
 xcopy /E /Y "textures\*" "bin\textures\" >nul 2>&1
 xcopy /E /Y "Static\*" "bin\Static\" >nul 2>&1
 
+echo compiling levels...
+java -cp bin CompiledLevel
+
+echo packing assets...
+java -cp bin AssetBundle assets.pak
+
 echo compiled, running...
 java -cp bin Main
 pause